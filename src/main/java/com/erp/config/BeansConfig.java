@@ -1,6 +1,11 @@
 package com.erp.config;
 
+import com.erp.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -14,6 +19,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @Configuration
@@ -24,11 +30,11 @@ public class BeansConfig {
 
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
 
         return authProvider;
     }
@@ -49,8 +55,30 @@ public class BeansConfig {
     }
 
 
-    @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt is deliberately slow, so hashing runs on its own pool sized to the CPUs instead of on request
+     * threads. A threads value of 0 uses one thread per available processor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${application.security.password.threads:0}") int threads,
+                                                 @Value("${application.security.password.queue-capacity:64}") int queueCapacity,
+                                                 @Value("${application.security.password.timeout:PT5S}") Duration timeout,
+                                                 MeterRegistry meterRegistry) {
+        BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                timeout
+        );
+        Gauge.builder("auth.password.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                .description("Password hashes in progress")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.password.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                .description("Password hashes rejected because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        return passwordEncoder;
     }
 }
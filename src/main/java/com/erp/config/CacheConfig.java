@@ -0,0 +1,48 @@
+package com.erp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    /** {@code UserPrincipal} by email, as loaded by {@code CustomUserDetailsService}. */
+    public static final String USER_PRINCIPALS = "userPrincipals";
+
+    /** Employee id by user id. */
+    public static final String USER_EMPLOYEES = "userEmployees";
+
+    /** Current token version by user id, as checked by {@code TokenVersionService}. */
+    public static final String TOKEN_VERSIONS = "tokenVersions";
+
+    /**
+     * Caches are registered up front so Actuator binds their hit/miss/eviction metrics ({@code cache.gets},
+     * {@code cache.evictions}) at startup. Entries are also evicted explicitly when the underlying user changes,
+     * the TTL only bounds staleness for changes made outside the services.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${application.cache.user-principals.spec:maximumSize=10000,expireAfterWrite=10m}") String userPrincipalsSpec,
+                                     @Value("${application.cache.user-employees.spec:maximumSize=10000,expireAfterWrite=30m}") String userEmployeesSpec,
+                                     @Value("${application.security.jwt.token-version-ttl:PT30S}") Duration tokenVersionTtl,
+                                     @Value("${application.security.jwt.token-version-cache-size:100000}") long tokenVersionCacheSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_PRINCIPALS, Caffeine.from(userPrincipalsSpec).recordStats().build());
+        cacheManager.registerCustomCache(USER_EMPLOYEES, Caffeine.from(userEmployeesSpec).recordStats().build());
+        // Not evicted on other nodes, so the TTL is how long they may accept a revoked token
+        cacheManager.registerCustomCache(TOKEN_VERSIONS, Caffeine.newBuilder()
+                .expireAfterWrite(tokenVersionTtl)
+                .maximumSize(tokenVersionCacheSize)
+                .recordStats()
+                .build());
+        // Only the caches above exist; a typo in a cache name should fail instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        return cacheManager;
+    }
+}
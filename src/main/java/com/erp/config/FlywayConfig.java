@@ -0,0 +1,21 @@
+package com.erp.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Databases created before the migrations existed were built by Hibernate and already match V1, so a
+     * non-empty schema without a history table is baselined at V1 and only receives the later migrations.
+     * An empty database runs every migration from V1.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+}
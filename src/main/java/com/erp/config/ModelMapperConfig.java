@@ -1,18 +0,0 @@
-package com.erp.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfig {
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        
-        // Configure any custom mappings here if needed
-        
-        return modelMapper;
-    }
-}
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.erp.dtos.request.auth.RegisterUserDTO;
 import com.erp.dtos.request.user.CreateAdminDTO;
 import com.erp.dtos.request.user.UserResponseDTO;
 import com.erp.dtos.response.auth.AuthResponse;
+import com.erp.exceptions.TooManyRequestsException;
 import com.erp.payload.ApiResponse;
 import com.erp.services.IAuthService;
 import com.erp.services.IUserService;
@@ -21,6 +22,7 @@ import jakarta.validation.constraints.Email;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -42,7 +44,8 @@ public class AuthenticationController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many logins in progress, retry shortly")
     })
 
     @PostMapping("/login")
@@ -51,6 +54,11 @@ public class AuthenticationController {
             logger.debug("Processing login request for user: {}", loginDTO.getEmail());
             AuthResponse response = authService.login(loginDTO);
             return ApiResponse.success("Login successful", HttpStatus.OK, response);
+        } catch (TooManyRequestsException e) {
+            logger.warn("Login rejected for user: {}: {}", loginDTO.getEmail(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, TooManyRequestsException.RETRY_AFTER_SECONDS)
+                    .body(ApiResponse.<AuthResponse>fail("Login failed", HttpStatus.TOO_MANY_REQUESTS, e.getMessage()).getBody());
         } catch (Exception e) {
             logger.error("Login failed for user: {}", loginDTO.getEmail(), e);
             return ApiResponse.fail("Login failed", HttpStatus.BAD_REQUEST, e.getMessage());
@@ -2,23 +2,24 @@ package com.erp.controllers;
 
 import com.erp.dtos.request.deduction.CreateDeductionDTO;
 import com.erp.dtos.request.deduction.UpdateDeductionDTO;
+import com.erp.dtos.response.CursorPage;
 import com.erp.dtos.response.deduction.DeductionResponseDTO;
+import com.erp.mapper.DeductionMapper;
 import com.erp.models.Deduction;
 import com.erp.services.IDeductionService;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/deductions")
@@ -28,7 +29,7 @@ import java.util.stream.Collectors;
 public class DeductionController {
 
     private final IDeductionService deductionService;
-    private final ModelMapper modelMapper;
+    private final CursorPagination cursorPagination;
 
     @PostMapping
     @Operation(summary = "Create a new deduction")
@@ -47,12 +48,12 @@ public class DeductionController {
     @GetMapping
     @Operation(summary = "Get all deductions")
     @PreAuthorize("hasAnyAuthority('ROLE_EMPLOYEE', 'ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<DeductionResponseDTO>> getAllDeductions() {
-        List<Deduction> deductions = deductionService.findAllDeductions();
-        List<DeductionResponseDTO> deductionResponseDTOs = deductions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(deductionResponseDTOs);
+    public ResponseEntity<CursorPage<DeductionResponseDTO>> getAllDeductions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Deduction> deductions = deductionService.findAllDeductions(cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(deductions, this::convertToResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -121,7 +122,6 @@ public class DeductionController {
     }
 
     private DeductionResponseDTO convertToResponseDTO(Deduction deduction) {
-        DeductionResponseDTO responseDTO = modelMapper.map(deduction, DeductionResponseDTO.class);
-        return responseDTO;
+        return DeductionMapper.toResponseDTO(deduction);
     }
 }
\ No newline at end of file
@@ -2,25 +2,34 @@ package com.erp.controllers;
 
 import com.erp.dtos.request.employee.CreateEmployeeDTO;
 import com.erp.dtos.request.employee.UpdateEmployeeDTO;
+import com.erp.dtos.response.CursorPage;
+import com.erp.dtos.response.employee.EmployeeImportReport;
 import com.erp.dtos.response.employee.EmployeeResponseDTO;
+import com.erp.enums.EImportFormat;
+import com.erp.mapper.EmployeeMapper;
 import com.erp.models.Employee;
 import com.erp.models.User;
+import com.erp.security.UserSecurity;
+import com.erp.services.IEmployeeImportService;
 import com.erp.services.IEmployeeService;
 import com.erp.services.IUserService;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/employees")
@@ -30,8 +39,10 @@ import java.util.stream.Collectors;
 public class EmployeeController {
 
     private final IEmployeeService employeeService;
+    private final IEmployeeImportService employeeImportService;
     private final IUserService userService;
-    private final ModelMapper modelMapper;
+    private final UserSecurity userSecurity;
+    private final CursorPagination cursorPagination;
 
     @PostMapping
     @Operation(summary = "Create a new employee")
@@ -50,15 +61,27 @@ public class EmployeeController {
         return new ResponseEntity<>(convertToResponseDTO(savedEmployee), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/octet-stream"})
+    @Operation(summary = "Import employees with their employments from a CSV or NDJSON file, reporting rejected rows")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<EmployeeImportReport> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "CSV") EImportFormat format,
+            InputStream body) throws IOException {
+        // The format parameter is only needed for uploads sent as application/octet-stream
+        EImportFormat bodyFormat = EImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(employeeImportService.importEmployees(body, bodyFormat != null ? bodyFormat : format));
+    }
+
     @GetMapping
     @Operation(summary = "Get all employees")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployees() {
-        List<Employee> employees = employeeService.findAllEmployees();
-        List<EmployeeResponseDTO> employeeResponseDTOs = employees.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(employeeResponseDTOs);
+    public ResponseEntity<CursorPage<EmployeeResponseDTO>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Employee> employees = employeeService.findAllEmployees(cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(employees, this::convertToResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -81,8 +104,7 @@ public class EmployeeController {
     @Operation(summary = "Get current employee")
     @PreAuthorize("hasAnyAuthority('ROLE_EMPLOYEE', 'ROLE_MANAGER', 'ROLE_ADMIN')")
     public ResponseEntity<EmployeeResponseDTO> getCurrentEmployee() {
-        User currentUser = userService.getLoggedInUser();
-        Employee employee = employeeService.findEmployeeByUser(currentUser);
+        Employee employee = employeeService.findEmployeeById(userSecurity.getCurrentEmployeeId());
         return ResponseEntity.ok(convertToResponseDTO(employee));
     }
 
@@ -120,7 +142,6 @@ public class EmployeeController {
     }
 
     private EmployeeResponseDTO convertToResponseDTO(Employee employee) {
-        EmployeeResponseDTO responseDTO = modelMapper.map(employee, EmployeeResponseDTO.class);
-        return responseDTO;
+        return EmployeeMapper.toResponseDTO(employee);
     }
 }
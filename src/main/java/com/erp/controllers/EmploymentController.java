@@ -2,18 +2,21 @@ package com.erp.controllers;
 
 import com.erp.dtos.request.employment.CreateEmploymentDTO;
 import com.erp.dtos.request.employment.UpdateEmploymentDTO;
+import com.erp.dtos.response.CursorPage;
 import com.erp.dtos.response.employment.EmploymentResponseDTO;
 import com.erp.enums.EEmploymentStatus;
+import com.erp.mapper.EmploymentMapper;
 import com.erp.models.Employee;
 import com.erp.models.Employment;
 import com.erp.services.IEmployeeService;
 import com.erp.services.IEmploymentService;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,7 +35,7 @@ public class EmploymentController {
 
     private final IEmploymentService employmentService;
     private final IEmployeeService employeeService;
-    private final ModelMapper modelMapper;
+    private final CursorPagination cursorPagination;
 
     @PostMapping
     @Operation(summary = "Create a new employment")
@@ -57,12 +60,12 @@ public class EmploymentController {
     @GetMapping
     @Operation(summary = "Get all employments")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<EmploymentResponseDTO>> getAllEmployments() {
-        List<Employment> employments = employmentService.findAllEmployments();
-        List<EmploymentResponseDTO> employmentResponseDTOs = employments.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(employmentResponseDTOs);
+    public ResponseEntity<CursorPage<EmploymentResponseDTO>> getAllEmployments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Employment> employments = employmentService.findAllEmployments(cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(employments, this::convertToResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -85,7 +88,7 @@ public class EmploymentController {
     @Operation(summary = "Get employments by employee ID")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN') or @userSecurity.isCurrentEmployee(#employeeId)")
     public ResponseEntity<List<EmploymentResponseDTO>> getEmploymentsByEmployee(@PathVariable UUID employeeId) {
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         List<Employment> employments = employmentService.findEmploymentsByEmployee(employee);
         List<EmploymentResponseDTO> employmentResponseDTOs = employments.stream()
                 .map(this::convertToResponseDTO)
@@ -97,7 +100,7 @@ public class EmploymentController {
     @Operation(summary = "Get active employment by employee ID")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN') or @userSecurity.isCurrentEmployee(#employeeId)")
     public ResponseEntity<EmploymentResponseDTO> getActiveEmploymentByEmployee(@PathVariable UUID employeeId) {
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         Employment employment = employmentService.findActiveEmploymentByEmployee(employee);
         return ResponseEntity.ok(convertToResponseDTO(employment));
     }
@@ -108,7 +111,7 @@ public class EmploymentController {
     public ResponseEntity<List<EmploymentResponseDTO>> getEmploymentsByEmployeeAndStatus(
             @PathVariable UUID employeeId,
             @PathVariable EEmploymentStatus status) {
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         List<Employment> employments = employmentService.findEmploymentsByEmployeeAndStatus(employee, status);
         List<EmploymentResponseDTO> employmentResponseDTOs = employments.stream()
                 .map(this::convertToResponseDTO)
@@ -162,7 +165,6 @@ public class EmploymentController {
     }
 
     private EmploymentResponseDTO convertToResponseDTO(Employment employment) {
-        EmploymentResponseDTO responseDTO = modelMapper.map(employment, EmploymentResponseDTO.class);
-        return responseDTO;
+        return EmploymentMapper.toResponseDTO(employment);
     }
 }
@@ -1,16 +1,19 @@
 package com.erp.controllers;
 
+import com.erp.dtos.response.CursorPage;
 import com.erp.dtos.response.message.MessageResponseDTO;
+import com.erp.mapper.MessageMapper;
 import com.erp.models.Employee;
 import com.erp.models.Message;
+import com.erp.security.UserSecurity;
 import com.erp.services.IEmployeeService;
 import com.erp.services.IMessageService;
-import com.erp.services.IUserService;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -28,18 +31,18 @@ public class MessageController {
 
     private final IMessageService messageService;
     private final IEmployeeService employeeService;
-    private final IUserService userService;
-    private final ModelMapper modelMapper;
+    private final UserSecurity userSecurity;
+    private final CursorPagination cursorPagination;
 
     @GetMapping
     @Operation(summary = "Get all messages")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<MessageResponseDTO>> getAllMessages() {
-        List<Message> messages = messageService.findAllMessages();
-        List<MessageResponseDTO> messageResponseDTOs = messages.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(messageResponseDTOs);
+    public ResponseEntity<CursorPage<MessageResponseDTO>> getAllMessages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Message> messages = messageService.findAllMessages(cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(messages, this::convertToResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -54,7 +57,7 @@ public class MessageController {
     @Operation(summary = "Get messages by employee ID")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN') or @userSecurity.isCurrentEmployee(#employeeId)")
     public ResponseEntity<List<MessageResponseDTO>> getMessagesByEmployee(@PathVariable UUID employeeId) {
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         List<Message> messages = messageService.findMessagesByEmployee(employee);
         List<MessageResponseDTO> messageResponseDTOs = messages.stream()
                 .map(this::convertToResponseDTO)
@@ -69,7 +72,7 @@ public class MessageController {
             @PathVariable UUID employeeId,
             @PathVariable String monthYear) {
         
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         List<Message> messages = messageService.findMessagesByEmployeeAndMonthYear(employee, monthYear);
         List<MessageResponseDTO> messageResponseDTOs = messages.stream()
                 .map(this::convertToResponseDTO)
@@ -81,7 +84,7 @@ public class MessageController {
     @Operation(summary = "Get messages for current employee")
     @PreAuthorize("hasAnyAuthority('ROLE_EMPLOYEE', 'ROLE_MANAGER', 'ROLE_ADMIN')")
     public ResponseEntity<List<MessageResponseDTO>> getMessagesForCurrentEmployee() {
-        Employee employee = employeeService.findEmployeeByUser(userService.getLoggedInUser());
+        Employee employee = employeeService.getEmployeeReference(userSecurity.getCurrentEmployeeId());
         List<Message> messages = messageService.findMessagesByEmployee(employee);
         List<MessageResponseDTO> messageResponseDTOs = messages.stream()
                 .map(this::convertToResponseDTO)
@@ -95,7 +98,7 @@ public class MessageController {
     public ResponseEntity<List<MessageResponseDTO>> getMessagesForCurrentEmployeeByMonthYear(
             @PathVariable String monthYear) {
         
-        Employee employee = employeeService.findEmployeeByUser(userService.getLoggedInUser());
+        Employee employee = employeeService.getEmployeeReference(userSecurity.getCurrentEmployeeId());
         List<Message> messages = messageService.findMessagesByEmployeeAndMonthYear(employee, monthYear);
         List<MessageResponseDTO> messageResponseDTOs = messages.stream()
                 .map(this::convertToResponseDTO)
@@ -104,7 +107,6 @@ public class MessageController {
     }
 
     private MessageResponseDTO convertToResponseDTO(Message message) {
-        MessageResponseDTO responseDTO = modelMapper.map(message, MessageResponseDTO.class);
-        return responseDTO;
+        return MessageMapper.toResponseDTO(message);
     }
 }
\ No newline at end of file
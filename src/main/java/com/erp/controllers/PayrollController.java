@@ -1,25 +1,47 @@
 package com.erp.controllers;
 
+import com.erp.dtos.request.payroll.PayrollSimulationDTO;
+import com.erp.dtos.response.CursorPage;
+import com.erp.dtos.response.payroll.PayrollJobResponseDTO;
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.dtos.response.payslip.PayrollPeriodSummaryDTO;
+import com.erp.dtos.response.payslip.PayrollRecomputeReport;
+import com.erp.dtos.response.payslip.PayrollRunReport;
 import com.erp.dtos.response.payslip.PayslipResponseDTO;
+import com.erp.enums.EExportFormat;
+import com.erp.enums.EPayrollSummaryGrouping;
 import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERecomputeMode;
+import com.erp.exceptions.BadRequestException;
+import com.erp.mapper.PayslipMapper;
 import com.erp.models.Employee;
 import com.erp.models.Payslip;
+import com.erp.security.UserSecurity;
 import com.erp.services.IEmployeeService;
+import com.erp.services.IPayrollJobService;
 import com.erp.services.IPayrollService;
-import com.erp.services.IUserService;
+import com.erp.services.IPayrollSimulationService;
+import com.erp.services.IPayslipExportService;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/payroll")
@@ -29,9 +51,12 @@ import java.util.stream.Collectors;
 public class PayrollController {
 
     private final IPayrollService payrollService;
+    private final IPayrollJobService payrollJobService;
     private final IEmployeeService employeeService;
-    private final IUserService userService;
-    private final ModelMapper modelMapper;
+    private final UserSecurity userSecurity;
+    private final CursorPagination cursorPagination;
+    private final IPayslipExportService payslipExportService;
+    private final IPayrollSimulationService payrollSimulationService;
 
     @PostMapping("/generate/{employeeId}/{month}/{year}")
     @Operation(summary = "Generate payslip for an employee")
@@ -60,6 +85,79 @@ public class PayrollController {
         return ResponseEntity.ok(payslipResponseDTOs);
     }
 
+    @PostMapping("/generate/month/{month}/{year}/partitioned")
+    @Operation(summary = "Generate payroll for a month in parallel department chunks, each committed separately")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollRunReport> generatePayrollForMonthPartitioned(
+            @PathVariable Integer month,
+            @PathVariable Integer year) {
+
+        PayrollRunReport report = payrollService.generatePayrollForMonthPartitioned(month, year);
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/recompute/{month}/{year}")
+    @Operation(summary = "Recompute pending payslips whose employment or deductions changed after they were generated")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollRecomputeReport> recomputePayroll(
+            @PathVariable Integer month,
+            @PathVariable Integer year,
+            @RequestParam(defaultValue = "DELTA") ERecomputeMode mode) {
+
+        return ResponseEntity.ok(payrollService.recomputePendingPayslips(month, year, mode));
+    }
+
+    @PostMapping("/simulate")
+    @Operation(summary = "Simulate the effect of hypothetical deduction percentages on the payroll, without saving anything")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollSimulationResultDTO> simulatePayroll(
+            @Valid @RequestBody PayrollSimulationDTO simulationDTO,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+
+        return ResponseEntity.ok(payrollSimulationService.simulate(simulationDTO.getPercentages(), refresh));
+    }
+
+    @PostMapping("/jobs/generate/{month}/{year}")
+    @Operation(summary = "Start a background job that generates payroll for a month")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollJobResponseDTO> startGeneratePayrollJob(
+            @PathVariable Integer month,
+            @PathVariable Integer year) {
+
+        PayrollJobResponseDTO job = payrollJobService.submitGenerateJob(month, year);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/jobs/approve/{month}/{year}")
+    @Operation(summary = "Start a background job that approves payroll for a month")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<PayrollJobResponseDTO> startApprovePayrollJob(
+            @PathVariable Integer month,
+            @PathVariable Integer year) {
+
+        PayrollJobResponseDTO job = payrollJobService.submitApproveJob(month, year);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get progress of a payroll job")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollJobResponseDTO> getPayrollJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(payrollJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs/{jobId}/results")
+    @Operation(summary = "Get the payslips a finished payroll job generated or approved, page by page")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayrollJobResults(
+            @PathVariable UUID jobId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Payslip> results = payrollJobService.getJobResults(jobId, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(results, this::convertToResponseDTO));
+    }
+
     @PutMapping("/approve/{payslipId}")
     @Operation(summary = "Approve a payslip")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -92,68 +190,115 @@ public class PayrollController {
     @GetMapping("/employee/{employeeId}")
     @Operation(summary = "Get payslips by employee ID")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN') or @userSecurity.isCurrentEmployee(#employeeId)")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsByEmployee(@PathVariable UUID employeeId) {
-        Employee employee = employeeService.findEmployeeById(employeeId);
-        List<Payslip> payslips = payrollService.findPayslipsByEmployee(employee);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsByEmployee(
+            @PathVariable UUID employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Employee employee = employeeService.getEmployeeReference(employeeId);
+        Window<Payslip> payslips = payrollService.findPayslipsByEmployee(employee, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
     }
 
     @GetMapping("/employee/{employeeId}/status/{status}")
     @Operation(summary = "Get payslips by employee ID and status")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN') or @userSecurity.isCurrentEmployee(#employeeId)")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsByEmployeeAndStatus(
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsByEmployeeAndStatus(
             @PathVariable UUID employeeId,
-            @PathVariable EPayslipStatus status) {
+            @PathVariable EPayslipStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        Employee employee = employeeService.findEmployeeById(employeeId);
-        List<Payslip> payslips = payrollService.findPayslipsByEmployeeAndStatus(employee, status);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
+        Window<Payslip> payslips = payrollService.findPayslipsByEmployeeAndStatus(employee, status, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get payslips by status")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsByStatus(@PathVariable EPayslipStatus status) {
-        List<Payslip> payslips = payrollService.findPayslipsByStatus(status);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsByStatus(
+            @PathVariable EPayslipStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Window<Payslip> payslips = payrollService.findPayslipsByStatus(status, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
     }
 
     @GetMapping("/month/{month}/{year}")
     @Operation(summary = "Get payslips by month and year")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsByMonthAndYear(
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsByMonthAndYear(
             @PathVariable Integer month,
-            @PathVariable Integer year) {
+            @PathVariable Integer year,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<Payslip> payslips = payrollService.findPayslipsByMonthAndYear(month, year);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+        Window<Payslip> payslips = payrollService.findPayslipsByMonthAndYear(month, year, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
     }
 
     @GetMapping("/month/{month}/{year}/status/{status}")
     @Operation(summary = "Get payslips by month, year, and status")
     @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsByMonthAndYearAndStatus(
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsByMonthAndYearAndStatus(
             @PathVariable Integer month,
             @PathVariable Integer year,
-            @PathVariable EPayslipStatus status) {
+            @PathVariable EPayslipStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<Payslip> payslips = payrollService.findPayslipsByMonthAndYearAndStatus(month, year, status);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+        Window<Payslip> payslips = payrollService.findPayslipsByMonthAndYearAndStatus(month, year, status, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
+    }
+
+    @GetMapping("/summary/{month}/{year}")
+    @Operation(summary = "Get a month's payroll totals by department, status, or both")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<PayrollPeriodSummaryDTO> getPayrollSummary(
+            @PathVariable Integer month,
+            @PathVariable Integer year,
+            @RequestParam(defaultValue = "DEPARTMENT_AND_STATUS") EPayrollSummaryGrouping groupBy) {
+
+        return ResponseEntity.ok(payrollService.getPeriodSummary(month, year, groupBy));
+    }
+
+    @GetMapping("/export/{month}/{year}")
+    @Operation(summary = "Stream a month's payslips as CSV or NDJSON, in resumable chunks ordered by payslip ID")
+    @PreAuthorize("hasAnyAuthority('ROLE_MANAGER', 'ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPayslips(
+            @PathVariable Integer month,
+            @PathVariable Integer year,
+            @RequestParam(defaultValue = "CSV") EExportFormat format,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        if (limit != null && limit <= 0) {
+            throw new BadRequestException("limit must be positive");
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                payslipExportService.exportPayslips(month, year, format, after, limit, compressed);
+                compressed.finish();
+            } else {
+                payslipExportService.exportPayslips(month, year, format, after, limit, out);
+            }
+        };
+
+        String filename = String.format("payslips-%d-%02d.%s", year, month, format.getExtension());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/employee/{employeeId}/month/{month}/{year}")
@@ -164,7 +309,7 @@ public class PayrollController {
             @PathVariable Integer month,
             @PathVariable Integer year) {
 
-        Employee employee = employeeService.findEmployeeById(employeeId);
+        Employee employee = employeeService.getEmployeeReference(employeeId);
         Payslip payslip = payrollService.findPayslipByEmployeeAndMonthAndYear(employee, month, year);
         return ResponseEntity.ok(convertToResponseDTO(payslip));
     }
@@ -172,17 +317,16 @@ public class PayrollController {
     @GetMapping("/current")
     @Operation(summary = "Get payslips for current employee")
     @PreAuthorize("hasAnyAuthority('ROLE_EMPLOYEE', 'ROLE_MANAGER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<PayslipResponseDTO>> getPayslipsForCurrentEmployee() {
-        Employee employee = employeeService.findEmployeeByUser(userService.getLoggedInUser());
-        List<Payslip> payslips = payrollService.findPayslipsByEmployee(employee);
-        List<PayslipResponseDTO> payslipResponseDTOs = payslips.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payslipResponseDTOs);
+    public ResponseEntity<CursorPage<PayslipResponseDTO>> getPayslipsForCurrentEmployee(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        Employee employee = employeeService.getEmployeeReference(userSecurity.getCurrentEmployeeId());
+        Window<Payslip> payslips = payrollService.findPayslipsByEmployee(employee, cursorPagination.request(cursor, size));
+        return ResponseEntity.ok(cursorPagination.page(payslips, this::convertToResponseDTO));
     }
 
     private PayslipResponseDTO convertToResponseDTO(Payslip payslip) {
-        PayslipResponseDTO responseDTO = modelMapper.map(payslip, PayslipResponseDTO.class);
-        return responseDTO;
+        return PayslipMapper.toResponseDTO(payslip);
     }
 }
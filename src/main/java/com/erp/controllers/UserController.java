@@ -5,20 +5,21 @@ import com.erp.dtos.request.user.UserResponseDTO;
 import com.erp.dtos.request.user.UserRoleChangeDTO;
 import com.erp.dtos.request.user.UserRoleModificationDTO;
 import com.erp.dtos.request.user.UserStatusChangeDTO;
+import com.erp.dtos.response.CursorPage;
 import com.erp.models.User;
 import com.erp.payload.ApiResponse;
 import com.erp.services.IUserService;
 import com.erp.utils.ExceptionUtils;
+import com.erp.utils.pagination.CursorPagination;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("users")
@@ -27,16 +28,17 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final IUserService userService;
+    private final CursorPagination cursorPagination;
 
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserResponseDTO>>> getAllUsers() {
+    public ResponseEntity<ApiResponse<CursorPage<UserResponseDTO>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<User> users = userService.getUsers();
-            List<UserResponseDTO> userDTOs = users.stream()
-                    .map(UserResponseDTO::new)
-                    .collect(Collectors.toList());
+            Window<User> users = userService.getUsers(cursorPagination.request(cursor, size));
+            CursorPage<UserResponseDTO> userDTOs = cursorPagination.page(users, UserResponseDTO::new);
 
             return ApiResponse.success("Users retrieved successfully", HttpStatus.OK, userDTOs);
         } catch (Exception e) {
@@ -0,0 +1,59 @@
+package com.erp.dtos.request.employee;
+
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a bulk import: an employee for an existing user together with its employment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportRowDTO {
+
+    @NotBlank(message = "Employee code is required")
+    private String employeeCode;
+
+    @NotBlank(message = "User email is required")
+    @Email(message = "User email must be valid")
+    private String userEmail;
+
+    @NotNull(message = "Date of birth is required")
+    @Past(message = "Date of birth must be in the past")
+    private LocalDate dateOfBirth;
+
+    @NotNull(message = "Employee status is required")
+    private EEmployeeStatus employeeStatus;
+
+    @NotBlank(message = "Employment code is required")
+    private String employmentCode;
+
+    @NotBlank(message = "Department is required")
+    private String department;
+
+    @NotBlank(message = "Position is required")
+    private String position;
+
+    @NotNull(message = "Base salary is required")
+    @Positive(message = "Base salary must be positive")
+    private BigDecimal baseSalary;
+
+    @NotNull(message = "Employment status is required")
+    private EEmploymentStatus employmentStatus;
+
+    @NotNull(message = "Joining date is required")
+    private LocalDate joiningDate;
+}
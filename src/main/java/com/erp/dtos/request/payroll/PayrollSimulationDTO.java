@@ -0,0 +1,28 @@
+package com.erp.dtos.request.payroll;
+
+import com.erp.enums.EDeductionType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSimulationDTO {
+
+    // Deductions left out keep their current percentage
+    @NotEmpty(message = "At least one deduction percentage is required")
+    private Map<@NotNull EDeductionType,
+            @NotNull(message = "Percentage is required")
+            @DecimalMin(value = "0", message = "Percentage must not be negative")
+            @DecimalMax(value = "100", message = "Percentage must not exceed 100") BigDecimal> percentages;
+}
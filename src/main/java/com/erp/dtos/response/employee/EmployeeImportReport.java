@@ -0,0 +1,32 @@
+package com.erp.dtos.response.employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportReport {
+
+    private long rows;
+
+    private long imported;
+
+    private long failed;
+
+    private int chunks;
+
+    private int failedChunks;
+
+    private List<ImportRowErrorDTO> errors;
+
+    // Set when more rows failed than application.import.max-errors, so only the first errors are listed
+    private boolean errorsTruncated;
+
+    private long durationMillis;
+}
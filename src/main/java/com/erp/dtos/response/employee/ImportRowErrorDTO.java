@@ -0,0 +1,20 @@
+package com.erp.dtos.response.employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+
+    // Line number in the uploaded file, counting the CSV header
+    private long line;
+
+    private String employeeCode;
+
+    private String message;
+}
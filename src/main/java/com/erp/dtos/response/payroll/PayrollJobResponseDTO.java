@@ -0,0 +1,46 @@
+package com.erp.dtos.response.payroll;
+
+import com.erp.enums.EPayrollJobStatus;
+import com.erp.enums.EPayrollJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollJobResponseDTO {
+
+    private UUID id;
+
+    private EPayrollJobType type;
+
+    private EPayrollJobStatus status;
+
+    private Integer month;
+
+    private Integer year;
+
+    private int total;
+
+    private int processed;
+
+    private int failed;
+
+    private double throughputPerSecond;
+
+    private Long etaSeconds;
+
+    private String error;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,43 @@
+package com.erp.dtos.response.payroll;
+
+import com.erp.dtos.response.payslip.PayrollTotalsDTO;
+import com.erp.enums.EDeductionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSimulationResultDTO {
+
+    private Map<EDeductionType, BigDecimal> percentages;
+
+    private int employees;
+
+    // Employees whose deductions exceed their gross salary under either rule set, left out of every figure
+    private int excluded;
+
+    private LocalDateTime snapshotTakenAt;
+
+    private PayrollTotalsDTO current;
+
+    private PayrollTotalsDTO simulated;
+
+    private PayrollTotalsDTO delta;
+
+    private List<PayrollTotalsDTO> departmentDeltas;
+
+    private Map<String, BigDecimal> netSalaryPercentiles;
+
+    private Map<String, BigDecimal> netSalaryDeltaPercentiles;
+
+    private long durationMillis;
+}
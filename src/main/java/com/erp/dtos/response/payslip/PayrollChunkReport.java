@@ -0,0 +1,29 @@
+package com.erp.dtos.response.payslip;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollChunkReport {
+
+    private String chunk;
+
+    private int employees;
+
+    private int generated;
+
+    private int skipped;
+
+    private int failed;
+
+    private boolean committed;
+
+    private String error;
+
+    private long durationMillis;
+}
@@ -0,0 +1,26 @@
+package com.erp.dtos.response.payslip;
+
+import com.erp.enums.EPayrollSummaryGrouping;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollPeriodSummaryDTO {
+
+    private Integer month;
+
+    private Integer year;
+
+    private EPayrollSummaryGrouping groupBy;
+
+    private List<PayrollTotalsDTO> groups;
+
+    private PayrollTotalsDTO total;
+}
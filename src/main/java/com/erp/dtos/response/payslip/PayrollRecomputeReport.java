@@ -0,0 +1,30 @@
+package com.erp.dtos.response.payslip;
+
+import com.erp.enums.ERecomputeMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRecomputeReport {
+
+    private Integer month;
+
+    private Integer year;
+
+    private ERecomputeMode mode;
+
+    private int stale;
+
+    private int recomputed;
+
+    private int changed;
+
+    private int failed;
+
+    private long durationMillis;
+}
@@ -0,0 +1,33 @@
+package com.erp.dtos.response.payslip;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRunReport {
+
+    private Integer month;
+
+    private Integer year;
+
+    private int totalEmployees;
+
+    private int generated;
+
+    private int skipped;
+
+    private int failed;
+
+    private int failedChunks;
+
+    private long durationMillis;
+
+    private List<PayrollChunkReport> chunks;
+}
@@ -0,0 +1,38 @@
+package com.erp.dtos.response.payslip;
+
+import com.erp.enums.EPayslipStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollTotalsDTO {
+
+    private String department;
+
+    private EPayslipStatus status;
+
+    private long payslipCount;
+
+    private BigDecimal grossSalary;
+
+    private BigDecimal netSalary;
+
+    private BigDecimal employeeTaxAmount;
+
+    private BigDecimal pensionAmount;
+
+    private BigDecimal medicalInsuranceAmount;
+
+    private BigDecimal housingAmount;
+
+    private BigDecimal transportAmount;
+
+    private BigDecimal otherDeductions;
+}
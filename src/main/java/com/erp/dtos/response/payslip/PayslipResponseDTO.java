@@ -41,6 +41,8 @@ public class PayslipResponseDTO {
     
     private Integer year;
     
+    private String department;
+    
     private EPayslipStatus status;
     
     private LocalDateTime createdDate;
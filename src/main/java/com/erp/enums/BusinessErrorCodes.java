@@ -14,6 +14,7 @@ public enum BusinessErrorCodes {
     ACCOUNT_LOCKED(302, FORBIDDEN, "User account is locked"),
     ACCOUNT_DISABLED(303, FORBIDDEN, "User account is disabled"),
     BAD_CREDENTIALS(304, FORBIDDEN, "Login and / or Password is incorrect"),
+    SERVER_BUSY(305, TOO_MANY_REQUESTS, "Too many requests, please try again shortly"),
     UNAUTHORIZED_ACTION(403,FORBIDDEN, "You are not authorized to perform this action");
     ;
 
@@ -0,0 +1,30 @@
+package com.erp.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EDeductionType {
+    EMPLOYEE_TAX("DED001", "Employee Tax"),
+    PENSION("DED002", "Pension"),
+    MEDICAL_INSURANCE("DED003", "Medical Insurance"),
+    HOUSING("DED004", "Housing"),
+    TRANSPORT("DED005", "Transport"),
+    OTHERS("DED006", "Others");
+
+    private final String defaultCode;
+    private final String deductionName;
+
+    EDeductionType(String defaultCode, String deductionName) {
+        this.defaultCode = defaultCode;
+        this.deductionName = deductionName;
+    }
+
+    public static EDeductionType fromDeductionName(String name) {
+        for (EDeductionType type : values()) {
+            if (type.deductionName.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
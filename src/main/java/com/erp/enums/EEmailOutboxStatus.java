@@ -0,0 +1,5 @@
+package com.erp.enums;
+
+public enum EEmailOutboxStatus {
+    PENDING, DEAD
+}
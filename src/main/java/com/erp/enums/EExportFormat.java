@@ -0,0 +1,17 @@
+package com.erp.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    EExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
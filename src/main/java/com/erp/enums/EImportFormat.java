@@ -0,0 +1,25 @@
+package com.erp.enums;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum EImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType contentType;
+
+    EImportFormat(MediaType contentType) {
+        this.contentType = contentType;
+    }
+
+    public static EImportFormat fromContentType(MediaType contentType) {
+        for (EImportFormat format : values()) {
+            if (format.contentType.equalsTypeAndSubtype(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
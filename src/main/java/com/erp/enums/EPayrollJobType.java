@@ -0,0 +1,5 @@
+package com.erp.enums;
+
+public enum EPayrollJobType {
+    GENERATE, APPROVE
+}
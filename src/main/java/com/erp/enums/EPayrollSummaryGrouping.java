@@ -0,0 +1,5 @@
+package com.erp.enums;
+
+public enum EPayrollSummaryGrouping {
+    DEPARTMENT, STATUS, DEPARTMENT_AND_STATUS
+}
@@ -0,0 +1,24 @@
+package com.erp.exceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serial;
+
+@Getter
+@AllArgsConstructor
+public class TooManyRequestsException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Value of the Retry-After header sent with the 429 response
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -2,7 +2,11 @@ package com.erp.handler;
 
 
 
+import com.erp.exceptions.BadRequestException;
+import com.erp.exceptions.ConflictException;
 import com.erp.exceptions.OperationNotPermittedException;
+import com.erp.exceptions.TooManyRequestsException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -83,6 +87,42 @@ public class GlobalExceptionHandler {
                 );
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionResponse> handleException(TooManyRequestsException e) {
+        return ResponseEntity
+                .status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, TooManyRequestsException.RETRY_AFTER_SECONDS)
+                .body(
+                        ExceptionResponse.builder()
+                                .businessErrorCode(SERVER_BUSY.getCode())
+                                .businessErrorDescription(SERVER_BUSY.getDescription())
+                                .error(e.getMessage())
+                                .build()
+                );
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ExceptionResponse> handleException(BadRequestException e) {
+        return ResponseEntity
+                .status(BAD_REQUEST)
+                .body(
+                        ExceptionResponse.builder()
+                                .error(e.getMessage())
+                                .build()
+                );
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ExceptionResponse> handleException(ConflictException e) {
+        return ResponseEntity
+                .status(CONFLICT)
+                .body(
+                        ExceptionResponse.builder()
+                                .error(e.getMessage())
+                                .build()
+                );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ExceptionResponse> handleException(Exception e) {
         e.printStackTrace();
@@ -0,0 +1,23 @@
+package com.erp.mapper;
+
+import com.erp.dtos.response.deduction.DeductionResponseDTO;
+import com.erp.models.Deduction;
+
+public final class DeductionMapper {
+
+    private DeductionMapper() {
+    }
+
+    public static DeductionResponseDTO toResponseDTO(Deduction deduction) {
+        if (deduction == null) {
+            return null;
+        }
+        DeductionResponseDTO dto = new DeductionResponseDTO();
+        dto.setId(deduction.getId());
+        dto.setCode(deduction.getCode());
+        dto.setName(deduction.getName());
+        dto.setPercentage(deduction.getPercentage());
+        dto.setCreatedDate(deduction.getCreatedDate());
+        return dto;
+    }
+}
@@ -0,0 +1,29 @@
+package com.erp.mapper;
+
+import com.erp.dtos.request.user.UserResponseDTO;
+import com.erp.dtos.response.employee.EmployeeResponseDTO;
+import com.erp.models.Employee;
+
+/**
+ * Hand-written {@code Employee -> EmployeeResponseDTO} mapping. Plain getter/setter calls, so the JIT can inline
+ * it and each conversion allocates only the DTOs it returns.
+ */
+public final class EmployeeMapper {
+
+    private EmployeeMapper() {
+    }
+
+    public static EmployeeResponseDTO toResponseDTO(Employee employee) {
+        if (employee == null) {
+            return null;
+        }
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setId(employee.getId());
+        dto.setCode(employee.getCode());
+        dto.setUser(employee.getUser() == null ? null : new UserResponseDTO(employee.getUser()));
+        dto.setDateOfBirth(employee.getDateOfBirth());
+        dto.setStatus(employee.getStatus());
+        dto.setCreatedDate(employee.getCreatedDate() == null ? null : employee.getCreatedDate().toLocalDate());
+        return dto;
+    }
+}
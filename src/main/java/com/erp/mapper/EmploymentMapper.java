@@ -0,0 +1,27 @@
+package com.erp.mapper;
+
+import com.erp.dtos.response.employment.EmploymentResponseDTO;
+import com.erp.models.Employment;
+
+public final class EmploymentMapper {
+
+    private EmploymentMapper() {
+    }
+
+    public static EmploymentResponseDTO toResponseDTO(Employment employment) {
+        if (employment == null) {
+            return null;
+        }
+        EmploymentResponseDTO dto = new EmploymentResponseDTO();
+        dto.setId(employment.getId());
+        dto.setCode(employment.getCode());
+        dto.setEmployee(EmployeeMapper.toResponseDTO(employment.getEmployee()));
+        dto.setDepartment(employment.getDepartment());
+        dto.setPosition(employment.getPosition());
+        dto.setBaseSalary(employment.getBaseSalary());
+        dto.setStatus(employment.getStatus());
+        dto.setJoiningDate(employment.getJoiningDate());
+        dto.setCreatedDate(employment.getCreatedDate() == null ? null : employment.getCreatedDate().toLocalDate());
+        return dto;
+    }
+}
@@ -0,0 +1,24 @@
+package com.erp.mapper;
+
+import com.erp.dtos.response.message.MessageResponseDTO;
+import com.erp.models.Message;
+
+public final class MessageMapper {
+
+    private MessageMapper() {
+    }
+
+    public static MessageResponseDTO toResponseDTO(Message message) {
+        if (message == null) {
+            return null;
+        }
+        MessageResponseDTO dto = new MessageResponseDTO();
+        dto.setId(message.getId());
+        dto.setEmployee(EmployeeMapper.toResponseDTO(message.getEmployee()));
+        dto.setMessage(message.getMessage());
+        dto.setMonthYear(message.getMonthYear());
+        dto.setSentAt(message.getSentAt());
+        dto.setCreatedDate(message.getCreatedDate());
+        return dto;
+    }
+}
@@ -0,0 +1,30 @@
+package com.erp.mapper;
+
+import com.erp.dtos.response.payslip.PayrollTotalsDTO;
+import com.erp.enums.EPayslipStatus;
+import com.erp.repositories.projections.PeriodTotals;
+
+public final class PayrollTotalsMapper {
+
+    private PayrollTotalsMapper() {
+    }
+
+    public static PayrollTotalsDTO toResponseDTO(PeriodTotals totals) {
+        if (totals == null) {
+            return null;
+        }
+        PayrollTotalsDTO dto = new PayrollTotalsDTO();
+        dto.setDepartment(totals.department());
+        dto.setStatus(totals.status() == null ? null : EPayslipStatus.valueOf(totals.status()));
+        dto.setPayslipCount(totals.payslipCount());
+        dto.setGrossSalary(totals.grossSalary());
+        dto.setNetSalary(totals.netSalary());
+        dto.setEmployeeTaxAmount(totals.employeeTaxAmount());
+        dto.setPensionAmount(totals.pensionAmount());
+        dto.setMedicalInsuranceAmount(totals.medicalInsuranceAmount());
+        dto.setHousingAmount(totals.housingAmount());
+        dto.setTransportAmount(totals.transportAmount());
+        dto.setOtherDeductions(totals.otherDeductions());
+        return dto;
+    }
+}
@@ -0,0 +1,33 @@
+package com.erp.mapper;
+
+import com.erp.dtos.response.payslip.PayslipResponseDTO;
+import com.erp.models.Payslip;
+
+public final class PayslipMapper {
+
+    private PayslipMapper() {
+    }
+
+    public static PayslipResponseDTO toResponseDTO(Payslip payslip) {
+        if (payslip == null) {
+            return null;
+        }
+        PayslipResponseDTO dto = new PayslipResponseDTO();
+        dto.setId(payslip.getId());
+        dto.setEmployee(EmployeeMapper.toResponseDTO(payslip.getEmployee()));
+        dto.setHousingAmount(payslip.getHousingAmount());
+        dto.setTransportAmount(payslip.getTransportAmount());
+        dto.setEmployeeTaxAmount(payslip.getEmployeeTaxAmount());
+        dto.setPensionAmount(payslip.getPensionAmount());
+        dto.setMedicalInsuranceAmount(payslip.getMedicalInsuranceAmount());
+        dto.setOtherDeductions(payslip.getOtherDeductions());
+        dto.setGrossSalary(payslip.getGrossSalary());
+        dto.setNetSalary(payslip.getNetSalary());
+        dto.setMonth(payslip.getMonth());
+        dto.setYear(payslip.getYear());
+        dto.setDepartment(payslip.getDepartment());
+        dto.setStatus(payslip.getStatus());
+        dto.setCreatedDate(payslip.getCreatedDate());
+        return dto;
+    }
+}
@@ -28,7 +28,7 @@ public class Employee extends AbstractEntity {
     @Column(unique = true)
     private String code;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -29,7 +29,7 @@ public class Employment extends AbstractEntity {
     @Column(unique = true)
     private String code;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
@@ -25,7 +25,7 @@ public class Payslip extends AbstractEntity {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
@@ -49,6 +49,8 @@ public class Payslip extends AbstractEntity {
 
     private Integer year;
 
+    private String department;
+
     @Enumerated(EnumType.STRING)
     private EPayslipStatus status;
 }
\ No newline at end of file
@@ -25,7 +25,7 @@ public class Role {
 
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "role_name")
+    @Column(name = "role_name", unique = true)
     private ERole name;
 
     @ManyToMany(mappedBy = "roles", fetch = FetchType.LAZY)
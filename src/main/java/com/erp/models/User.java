@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -54,7 +55,14 @@ public class User extends  Person{
     @Transient
     private String fullName;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Embedded in access tokens; bumping it revokes every token issued before the change
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, columnDefinition = "bigint not null default 0")
+    private long tokenVersion;
+
+    // Only loaded when needed; touching them on a page of users loads the roles of up to 100 users per select
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -64,6 +72,10 @@ public class User extends  Person{
     private Set<Role> roles;
 
 
+    public void revokeTokens() {
+        this.tokenVersion++;
+    }
+
     private User(String email , String password){
         this.email = email;
         this.password = password;
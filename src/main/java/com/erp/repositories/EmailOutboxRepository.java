@@ -0,0 +1,112 @@
+package com.erp.repositories;
+
+import com.erp.enums.EEmailOutboxStatus;
+import com.erp.enums.IEmailTemplate;
+import com.erp.repositories.projections.OutboxEmail;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access to the {@code email_outbox} table. Inserts join the caller's transaction; claims are single
+ * statements, so several workers (or nodes) can poll at once without sending the same email twice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO email_outbox (id, recipient, username, subject, template, " +
+            "variables, status, attempts, next_attempt_at, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    // Claimed rows are leased until the given time; if the worker dies mid-send they become due again afterwards
+    private static final String CLAIM_SQL = "UPDATE email_outbox SET attempts = attempts + 1, next_attempt_at = ? " +
+            "WHERE id IN (SELECT id FROM email_outbox WHERE status = ? AND next_attempt_at <= ? " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, recipient, username, subject, template, variables, attempts";
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Rows per JDBC batch when enqueueing, e.g. the notifications of a whole payroll approval
+    @Value("${application.mail.outbox.insert-batch-size:500}")
+    private int insertBatchSize;
+
+    public void insertAll(List<OutboxEmail> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, emails, insertBatchSize, (ps, email) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setString(2, email.recipient());
+            ps.setString(3, email.username());
+            ps.setString(4, email.subject());
+            ps.setString(5, email.template().name());
+            ps.setString(6, writeVariables(email.variables()));
+            ps.setString(7, EEmailOutboxStatus.PENDING.name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    public List<OutboxEmail> claimDue(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEmail(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("recipient"),
+                        rs.getString("username"),
+                        rs.getString("subject"),
+                        IEmailTemplate.valueOf(rs.getString("template")),
+                        readVariables(rs.getString("variables")),
+                        rs.getInt("attempts")),
+                Timestamp.valueOf(leaseUntil), EEmailOutboxStatus.PENDING.name(), Timestamp.valueOf(now), limit);
+    }
+
+    public void deleteAll(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE id = ANY (?)",
+                (PreparedStatementSetter) ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())));
+    }
+
+    public void reschedule(UUID id, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?",
+                Timestamp.valueOf(nextAttemptAt), error, id);
+    }
+
+    public void markDead(UUID id, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = ?, last_error = ? WHERE id = ?",
+                EEmailOutboxStatus.DEAD.name(), error, id);
+    }
+
+    private String writeVariables(Map<String, Object> variables) {
+        try {
+            return objectMapper.writeValueAsString(variables == null ? Map.of() : variables);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Email variables are not serializable", e);
+        }
+    }
+
+    private Map<String, Object> readVariables(String json) {
+        try {
+            return objectMapper.readValue(json, VARIABLES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt email variables in outbox", e);
+        }
+    }
+}
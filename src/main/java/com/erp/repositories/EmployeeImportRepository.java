@@ -0,0 +1,111 @@
+package com.erp.repositories;
+
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based reads and JDBC batch inserts behind the bulk employee import. Each lookup answers a whole chunk of
+ * rows in one query, instead of one {@code findByCode} or {@code findByUser} per row. Ids and audit columns are
+ * assigned here, as in {@link PayslipBatchRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeImportRepository {
+
+    private static final String INSERT_EMPLOYEE_SQL = "INSERT INTO employees (id, code, user_id, date_of_birth, status, " +
+            "created_date, created_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_EMPLOYMENT_SQL = "INSERT INTO employments (id, code, employee_id, department, " +
+            "position, base_salary, status, joining_date, created_date, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<UUID> auditorAware;
+
+    public Set<String> findExistingEmployeeCodes(Collection<String> codes) {
+        return new HashSet<>(queryAny("SELECT code FROM employees WHERE code = ANY (?)", "varchar", codes, String.class));
+    }
+
+    public Set<String> findExistingEmploymentCodes(Collection<String> codes) {
+        return new HashSet<>(queryAny("SELECT code FROM employments WHERE code = ANY (?)", "varchar", codes, String.class));
+    }
+
+    public Set<UUID> findUserIdsWithEmployee(Collection<UUID> userIds) {
+        return new HashSet<>(queryAny("SELECT user_id FROM employees WHERE user_id = ANY (?)", "uuid", userIds, UUID.class));
+    }
+
+    public Map<String, UUID> findUserIdsByEmail(Collection<String> emails) {
+        Map<String, UUID> userIds = new HashMap<>();
+        if (emails.isEmpty()) {
+            return userIds;
+        }
+        jdbcTemplate.query("SELECT email, id FROM users WHERE email = ANY (?)",
+                (PreparedStatementSetter) ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", emails.toArray())),
+                rs -> {
+                    userIds.put(rs.getString(1), rs.getObject(2, UUID.class));
+                });
+        return userIds;
+    }
+
+    public void insertAll(List<Employee> employees, List<Employment> employments) {
+        LocalDateTime now = LocalDateTime.now();
+        UUID createdBy = auditorAware.getCurrentAuditor().orElse(null);
+        for (Employee employee : employees) {
+            employee.setId(UUID.randomUUID());
+            employee.setCreatedDate(now);
+            employee.setCreatedBy(createdBy);
+        }
+        for (Employment employment : employments) {
+            employment.setId(UUID.randomUUID());
+            employment.setCreatedDate(now);
+            employment.setCreatedBy(createdBy);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_SQL, employees, employees.size(), (ps, employee) -> {
+            ps.setObject(1, employee.getId());
+            ps.setString(2, employee.getCode());
+            ps.setObject(3, employee.getUser().getId());
+            ps.setDate(4, Date.valueOf(employee.getDateOfBirth()));
+            ps.setString(5, employee.getStatus().name());
+            ps.setTimestamp(6, Timestamp.valueOf(employee.getCreatedDate()));
+            ps.setObject(7, employee.getCreatedBy());
+        });
+        // Employee ids are assigned above, so each employment already points at its inserted employee
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYMENT_SQL, employments, employments.size(), (ps, employment) -> {
+            ps.setObject(1, employment.getId());
+            ps.setString(2, employment.getCode());
+            ps.setObject(3, employment.getEmployee().getId());
+            ps.setString(4, employment.getDepartment());
+            ps.setString(5, employment.getPosition());
+            ps.setBigDecimal(6, employment.getBaseSalary());
+            ps.setString(7, employment.getStatus().name());
+            ps.setDate(8, Date.valueOf(employment.getJoiningDate()));
+            ps.setTimestamp(9, Timestamp.valueOf(employment.getCreatedDate()));
+            ps.setObject(10, employment.getCreatedBy());
+        });
+    }
+
+    private <T> List<T> queryAny(String sql, String arrayType, Collection<?> values, Class<T> type) {
+        if (values.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf(arrayType, values.toArray())),
+                (rs, rowNum) -> rs.getObject(1, type));
+    }
+}
@@ -1,9 +1,15 @@
 package com.erp.repositories;
 
 import com.erp.models.Deduction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,8 @@ import java.util.UUID;
 public interface IDeductionRepository extends JpaRepository<Deduction, UUID> {
     Optional<Deduction> findByCode(String code);
     Optional<Deduction> findByName(String name);
+    Window<Deduction> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("select max(coalesce(d.lastModifiedDate, d.createdDate)) from Deduction d")
+    Optional<LocalDateTime> findLastModifiedAt();
 }
\ No newline at end of file
@@ -2,7 +2,14 @@ package com.erp.repositories;
 
 import com.erp.models.Employee;
 import com.erp.models.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +17,18 @@ import java.util.UUID;
 
 @Repository
 public interface IEmployeeRepository extends JpaRepository<Employee, UUID> {
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Employee> findById(UUID id);
+
+    @EntityGraph(attributePaths = "user")
     Optional<Employee> findByCode(String code);
+
     Optional<Employee> findByUser(User user);
+
+    @EntityGraph(attributePaths = "user")
+    Window<Employee> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("select e.id from Employee e where e.user.id = :userId")
+    Optional<UUID> findIdByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -3,17 +3,43 @@ package com.erp.repositories;
 import com.erp.models.Employee;
 import com.erp.models.Employment;
 import com.erp.enums.EEmploymentStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface IEmploymentRepository extends JpaRepository<Employment, UUID> {
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Optional<Employment> findById(UUID id);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     Optional<Employment> findByCode(String code);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Employment> findByEmployee(Employee employee);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Employment> findAllBy(ScrollPosition position, Limit limit, Sort sort);
     List<Employment> findByEmployeeAndStatus(Employee employee, EEmploymentStatus status);
     Optional<Employment> findByEmployeeAndStatusOrderByJoiningDateDesc(Employee employee, EEmploymentStatus status);
-}
\ No newline at end of file
+
+    @Query("select e from Employment e join fetch e.employee emp left join fetch emp.user " +
+            "where e.status = :status order by e.joiningDate desc")
+    List<Employment> findAllWithEmployeeByStatus(@Param("status") EEmploymentStatus status);
+
+    @Query("select e from Employment e where e.employee.id in :employeeIds and e.status = :status order by e.joiningDate desc")
+    List<Employment> findByEmployeeIdInAndStatus(@Param("employeeIds") Collection<UUID> employeeIds,
+                                                 @Param("status") EEmploymentStatus status);
+}
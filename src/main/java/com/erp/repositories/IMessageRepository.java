@@ -2,14 +2,30 @@ package com.erp.repositories;
 
 import com.erp.models.Employee;
 import com.erp.models.Message;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface IMessageRepository extends JpaRepository<Message, UUID> {
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Optional<Message> findById(UUID id);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Message> findByEmployee(Employee employee);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Message> findByEmployeeAndMonthYear(Employee employee, String monthYear);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Message> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
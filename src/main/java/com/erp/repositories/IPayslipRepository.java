@@ -3,20 +3,70 @@ package com.erp.repositories;
 import com.erp.models.Employee;
 import com.erp.models.Payslip;
 import com.erp.enums.EPayslipStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface IPayslipRepository extends JpaRepository<Payslip, UUID> {
+
+    // Payslips are always read together with their employee and user, so each finder joins them in
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Optional<Payslip> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    List<Payslip> findAllById(Iterable<UUID> ids);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Payslip> findByEmployee(Employee employee);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Payslip> findByEmployeeAndStatus(Employee employee, EPayslipStatus status);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Payslip> findByStatus(EPayslipStatus status);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Payslip> findByMonthAndYear(Integer month, Integer year);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<Payslip> findByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Payslip> findByEmployee(Employee employee, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Payslip> findByEmployeeAndStatus(Employee employee, EPayslipStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Payslip> findByStatus(EPayslipStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Payslip> findByMonthAndYear(Integer month, Integer year, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Window<Payslip> findByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    long countByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     Optional<Payslip> findByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
+
     boolean existsByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
-}
\ No newline at end of file
+
+    @Query("select p.employee.id from Payslip p where p.month = :month and p.year = :year")
+    Set<UUID> findEmployeeIdsByMonthAndYear(@Param("month") Integer month, @Param("year") Integer year);
+}
@@ -2,7 +2,14 @@ package com.erp.repositories;
 
 import com.erp.models.Role;
 import com.erp.models.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,9 +17,20 @@ import java.util.UUID;
 
 @Repository
 public interface IUserRepository extends JpaRepository<User , UUID> {
+    // Roles are needed to build the principal and to modify role assignments
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findById(UUID id);
+
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findUserByEmail(String email);
 
     Optional<User> findByRoles(Role role);
 
     Optional<User> findByVerificationCode(String verificationCode);
+
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") UUID id);
 }
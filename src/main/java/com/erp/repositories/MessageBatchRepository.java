@@ -0,0 +1,54 @@
+package com.erp.repositories;
+
+import com.erp.models.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes messages with JDBC batch inserts; ids and audit columns are assigned here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO messages (id, employee_id, message, month_year, sent_at, " +
+            "created_date, created_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<UUID> auditorAware;
+
+    @Value("${application.payroll.batch-size:500}")
+    private int batchSize;
+
+    public void insertAll(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID createdBy = auditorAware.getCurrentAuditor().orElse(null);
+        for (Message message : messages) {
+            message.setId(UUID.randomUUID());
+            message.setCreatedDate(now);
+            message.setCreatedBy(createdBy);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, batchSize, (ps, message) -> {
+            ps.setObject(1, message.getId());
+            ps.setObject(2, message.getEmployee().getId());
+            ps.setString(3, message.getMessage());
+            ps.setString(4, message.getMonthYear());
+            ps.setTimestamp(5, Timestamp.valueOf(message.getSentAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(message.getCreatedDate()));
+            ps.setObject(7, message.getCreatedBy());
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.erp.repositories;
+
+import com.erp.enums.EPayslipStatus;
+import com.erp.repositories.projections.PeriodTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the running totals in {@code payroll_period_totals} in step with the payslips table. Every method must be
+ * called in the transaction that inserts the payslips or changes their status, after the change has been written.
+ * Amounts are summed from the payslip rows themselves, so callers only pass ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PayrollPeriodTotalsRepository {
+
+    // Rows are upserted in key order, so concurrent transactions lock shared totals in the same order
+    private static final String ADJUST_SQL = "INSERT INTO payroll_period_totals AS t (year, month, department, status, " +
+            "payslip_count, gross_salary, net_salary, employee_tax_amount, pension_amount, medical_insurance_amount, " +
+            "housing_amount, transport_amount, other_deductions) " +
+            "SELECT year, month, department, ?, ?::int * count(*), " +
+            "?::int * coalesce(sum(gross_salary), 0), ?::int * coalesce(sum(net_salary), 0), " +
+            "?::int * coalesce(sum(employee_tax_amount), 0), ?::int * coalesce(sum(pension_amount), 0), " +
+            "?::int * coalesce(sum(medical_insurance_amount), 0), ?::int * coalesce(sum(housing_amount), 0), " +
+            "?::int * coalesce(sum(transport_amount), 0), ?::int * coalesce(sum(other_deductions), 0) " +
+            "FROM payslips WHERE id = ANY (?) " +
+            "GROUP BY year, month, department ORDER BY year, month, department " +
+            "ON CONFLICT (year, month, department, status) DO UPDATE SET " +
+            "payslip_count = t.payslip_count + EXCLUDED.payslip_count, " +
+            "gross_salary = t.gross_salary + EXCLUDED.gross_salary, " +
+            "net_salary = t.net_salary + EXCLUDED.net_salary, " +
+            "employee_tax_amount = t.employee_tax_amount + EXCLUDED.employee_tax_amount, " +
+            "pension_amount = t.pension_amount + EXCLUDED.pension_amount, " +
+            "medical_insurance_amount = t.medical_insurance_amount + EXCLUDED.medical_insurance_amount, " +
+            "housing_amount = t.housing_amount + EXCLUDED.housing_amount, " +
+            "transport_amount = t.transport_amount + EXCLUDED.transport_amount, " +
+            "other_deductions = t.other_deductions + EXCLUDED.other_deductions";
+
+    private static final String FIND_BY_PERIOD_SQL = "SELECT department, status, payslip_count, gross_salary, net_salary, " +
+            "employee_tax_amount, pension_amount, medical_insurance_amount, housing_amount, transport_amount, other_deductions " +
+            "FROM payroll_period_totals WHERE month = ? AND year = ? AND payslip_count <> 0 ORDER BY department, status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Counts the given payslips into the totals of {@code status}.
+     */
+    public void add(Collection<UUID> payslipIds, EPayslipStatus status) {
+        adjust(payslipIds, status, 1);
+    }
+
+    /**
+     * Takes the given payslips out of the totals of {@code status}.
+     */
+    public void subtract(Collection<UUID> payslipIds, EPayslipStatus status) {
+        adjust(payslipIds, status, -1);
+    }
+
+    public void move(Collection<UUID> payslipIds, EPayslipStatus from, EPayslipStatus to) {
+        subtract(payslipIds, from);
+        add(payslipIds, to);
+    }
+
+    public List<PeriodTotals> findByPeriod(Integer month, Integer year) {
+        return jdbcTemplate.query(FIND_BY_PERIOD_SQL, (rs, rowNum) -> new PeriodTotals(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getBigDecimal(4),
+                rs.getBigDecimal(5),
+                rs.getBigDecimal(6),
+                rs.getBigDecimal(7),
+                rs.getBigDecimal(8),
+                rs.getBigDecimal(9),
+                rs.getBigDecimal(10),
+                rs.getBigDecimal(11)
+        ), month, year);
+    }
+
+    private void adjust(Collection<UUID> payslipIds, EPayslipStatus status, int sign) {
+        if (payslipIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(ADJUST_SQL, (PreparedStatementSetter) ps -> {
+            ps.setString(1, status.name());
+            for (int i = 2; i <= 10; i++) {
+                ps.setInt(i, sign);
+            }
+            ps.setArray(11, ps.getConnection().createArrayOf("uuid", payslipIds.toArray()));
+        });
+    }
+}
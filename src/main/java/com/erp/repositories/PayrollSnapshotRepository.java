@@ -0,0 +1,36 @@
+package com.erp.repositories;
+
+import com.erp.services.payroll.PayrollSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads the salary inputs of every active employee straight into a {@link PayrollSnapshot}, without building
+ * entities. Like the export, rows are streamed with a fetch size, so callers must invoke this within a transaction.
+ */
+@Repository
+public class PayrollSnapshotRepository {
+
+    // The latest active employment per employee, as a payroll run would pick it
+    private static final String ACTIVE_EMPLOYMENTS_SQL = "SELECT DISTINCT ON (e.employee_id) e.base_salary, e.department " +
+            "FROM employments e WHERE e.status = 'ACTIVE' ORDER BY e.employee_id, e.joining_date DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayrollSnapshotRepository(DataSource dataSource,
+                                     @Value("${application.payroll.simulation.fetch-size:5000}") int fetchSize) {
+        // A dedicated template so the fetch size does not apply to other queries
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public PayrollSnapshot loadActiveEmployments() {
+        PayrollSnapshot.Builder snapshot = PayrollSnapshot.builder();
+        jdbcTemplate.query(ACTIVE_EMPLOYMENTS_SQL, (RowCallbackHandler) rs -> snapshot.add(rs.getBigDecimal(1), rs.getString(2)));
+        return snapshot.build();
+    }
+}
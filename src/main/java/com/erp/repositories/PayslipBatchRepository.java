@@ -0,0 +1,188 @@
+package com.erp.repositories;
+
+import com.erp.models.Payslip;
+import com.erp.repositories.projections.ApprovedPayslip;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based payslip writes that bypass the persistence context: JDBC batch inserts for generation,
+ * batch updates for recomputation and guarded UPDATEs for approval. Ids and audit columns are
+ * assigned here for the same reason.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PayslipBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO payslips (id, employee_id, housing_amount, transport_amount, " +
+            "employee_tax_amount, pension_amount, medical_insurance_amount, other_deductions, gross_salary, net_salary, " +
+            "month, year, department, status, created_date, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPROVED_PAYSLIPS_SQL = "RETURNING id, employee_id, net_salary, month, year) " +
+            "SELECT a.id, a.employee_id, e.code, u.first_name, u.email, a.net_salary, a.month, a.year " +
+            "FROM approved a JOIN employees e ON e.id = a.employee_id LEFT JOIN users u ON u.id = e.user_id";
+
+    // The status guard makes the update optimistic: rows approved concurrently are neither flipped nor reported twice
+    private static final String APPROVE_PENDING_SQL = "WITH approved AS (" +
+            "UPDATE payslips SET status = 'PAID', last_modified_date = ?, last_modified_by = ? " +
+            "WHERE month = ? AND year = ? AND status = 'PENDING' " + APPROVED_PAYSLIPS_SQL;
+
+    // The next pending payslips in id order, locked first so concurrent approvals wait instead of overlapping
+    private static final String APPROVE_PENDING_BATCH_SQL = "WITH approved AS (" +
+            "UPDATE payslips SET status = 'PAID', last_modified_date = ?, last_modified_by = ? " +
+            "WHERE id IN (SELECT id FROM payslips WHERE month = ? AND year = ? AND status = 'PENDING' " +
+            "ORDER BY id LIMIT ? FOR UPDATE) AND status = 'PENDING' " + APPROVED_PAYSLIPS_SQL;
+
+    // A payslip was last computed when it was inserted or, after a recompute, last modified
+    private static final String COMPUTED_AT = "coalesce(p.last_modified_date, p.created_date)";
+
+    private static final String OLDEST_PENDING_SQL = "SELECT min(" + COMPUTED_AT + ") FROM payslips p " +
+            "WHERE p.month = ? AND p.year = ? AND p.status = 'PENDING'";
+
+    private static final String PENDING_COMPUTED_BEFORE_SQL = "SELECT p.id FROM payslips p " +
+            "WHERE p.month = ? AND p.year = ? AND p.status = 'PENDING' AND " + COMPUTED_AT + " < ?";
+
+    // Driven from the few employments changed since the oldest pending payslip, then checked payslip by payslip
+    private static final String PENDING_WITH_CHANGED_EMPLOYMENT_SQL = "SELECT DISTINCT p.id FROM employments e " +
+            "JOIN payslips p ON p.employee_id = e.employee_id AND p.month = ? AND p.year = ? AND p.status = 'PENDING' " +
+            "WHERE coalesce(e.last_modified_date, e.created_date) > ? " +
+            "AND coalesce(e.last_modified_date, e.created_date) > " + COMPUTED_AT;
+
+    private static final String LOCK_PENDING_SQL = "SELECT id FROM payslips " +
+            "WHERE id = ANY (?) AND status = 'PENDING' ORDER BY id FOR UPDATE";
+
+    private static final String UPDATE_AMOUNTS_SQL = "UPDATE payslips SET housing_amount = ?, transport_amount = ?, " +
+            "employee_tax_amount = ?, pension_amount = ?, medical_insurance_amount = ?, other_deductions = ?, " +
+            "gross_salary = ?, net_salary = ?, department = ?, last_modified_date = ?, last_modified_by = ? " +
+            "WHERE id = ? AND status = 'PENDING'";
+
+    private static final RowMapper<ApprovedPayslip> APPROVED_PAYSLIP_MAPPER = (rs, rowNum) -> new ApprovedPayslip(
+            rs.getObject(1, UUID.class),
+            rs.getObject(2, UUID.class),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getBigDecimal(6),
+            rs.getInt(7),
+            rs.getInt(8)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<UUID> auditorAware;
+
+    @Value("${application.payroll.batch-size:500}")
+    private int batchSize;
+
+    public void insertAll(List<Payslip> payslips) {
+        if (payslips.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID createdBy = auditorAware.getCurrentAuditor().orElse(null);
+        for (Payslip payslip : payslips) {
+            payslip.setId(UUID.randomUUID());
+            payslip.setCreatedDate(now);
+            payslip.setCreatedBy(createdBy);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, payslips, batchSize, (ps, payslip) -> {
+            ps.setObject(1, payslip.getId());
+            ps.setObject(2, payslip.getEmployee().getId());
+            ps.setBigDecimal(3, payslip.getHousingAmount());
+            ps.setBigDecimal(4, payslip.getTransportAmount());
+            ps.setBigDecimal(5, payslip.getEmployeeTaxAmount());
+            ps.setBigDecimal(6, payslip.getPensionAmount());
+            ps.setBigDecimal(7, payslip.getMedicalInsuranceAmount());
+            ps.setBigDecimal(8, payslip.getOtherDeductions());
+            ps.setBigDecimal(9, payslip.getGrossSalary());
+            ps.setBigDecimal(10, payslip.getNetSalary());
+            ps.setInt(11, payslip.getMonth());
+            ps.setInt(12, payslip.getYear());
+            ps.setString(13, payslip.getDepartment());
+            ps.setString(14, payslip.getStatus().name());
+            ps.setTimestamp(15, Timestamp.valueOf(payslip.getCreatedDate()));
+            ps.setObject(16, payslip.getCreatedBy());
+        });
+    }
+
+    public Optional<LocalDateTime> findOldestPendingComputedAt(Integer month, Integer year) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_PENDING_SQL, Timestamp.class, month, year);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    public List<UUID> findPendingComputedBefore(Integer month, Integer year, LocalDateTime before) {
+        return jdbcTemplate.queryForList(PENDING_COMPUTED_BEFORE_SQL, UUID.class, month, year, Timestamp.valueOf(before));
+    }
+
+    /**
+     * Pending payslips of the period whose employee had an employment created or changed after the payslip was
+     * computed. Only employments changed after {@code since} are looked at, which must be no later than the
+     * oldest pending payslip of the period.
+     */
+    public List<UUID> findPendingWithEmploymentChangedSince(Integer month, Integer year, LocalDateTime since) {
+        return jdbcTemplate.queryForList(PENDING_WITH_CHANGED_EMPLOYMENT_SQL, UUID.class, month, year, Timestamp.valueOf(since));
+    }
+
+    /**
+     * Locks the given payslips that are still pending until the transaction ends, so they cannot be approved
+     * while being recomputed, and returns their ids.
+     */
+    public List<UUID> lockPending(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(LOCK_PENDING_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    public void updateAmounts(List<Payslip> payslips, LocalDateTime computedAt) {
+        if (payslips.isEmpty()) {
+            return;
+        }
+
+        UUID modifiedBy = auditorAware.getCurrentAuditor().orElse(null);
+        jdbcTemplate.batchUpdate(UPDATE_AMOUNTS_SQL, payslips, batchSize, (ps, payslip) -> {
+            ps.setBigDecimal(1, payslip.getHousingAmount());
+            ps.setBigDecimal(2, payslip.getTransportAmount());
+            ps.setBigDecimal(3, payslip.getEmployeeTaxAmount());
+            ps.setBigDecimal(4, payslip.getPensionAmount());
+            ps.setBigDecimal(5, payslip.getMedicalInsuranceAmount());
+            ps.setBigDecimal(6, payslip.getOtherDeductions());
+            ps.setBigDecimal(7, payslip.getGrossSalary());
+            ps.setBigDecimal(8, payslip.getNetSalary());
+            ps.setString(9, payslip.getDepartment());
+            ps.setTimestamp(10, Timestamp.valueOf(computedAt));
+            ps.setObject(11, modifiedBy);
+            ps.setObject(12, payslip.getId());
+        });
+    }
+
+    public List<ApprovedPayslip> approvePending(Integer month, Integer year) {
+        UUID approvedBy = auditorAware.getCurrentAuditor().orElse(null);
+        return jdbcTemplate.query(APPROVE_PENDING_SQL, APPROVED_PAYSLIP_MAPPER,
+                Timestamp.valueOf(LocalDateTime.now()), approvedBy, month, year);
+    }
+
+    /**
+     * Approves at most {@code limit} pending payslips of the period. Called until it returns nothing, it approves
+     * the whole period in batches that each commit on their own.
+     */
+    public List<ApprovedPayslip> approvePendingBatch(Integer month, Integer year, int limit) {
+        UUID approvedBy = auditorAware.getCurrentAuditor().orElse(null);
+        return jdbcTemplate.query(APPROVE_PENDING_BATCH_SQL, APPROVED_PAYSLIP_MAPPER,
+                Timestamp.valueOf(LocalDateTime.now()), approvedBy, month, year, limit);
+    }
+}
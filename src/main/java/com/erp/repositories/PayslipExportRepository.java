@@ -0,0 +1,76 @@
+package com.erp.repositories;
+
+import com.erp.repositories.projections.PayslipExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only reads of a payroll period for export. Rows are handed to the caller one at a time as the
+ * driver fetches them, so memory stays constant regardless of the period size. PostgreSQL only streams
+ * with a fetch size inside a transaction, so callers must invoke this within one.
+ */
+@Repository
+public class PayslipExportRepository {
+
+    private static final String SELECT_SQL = "SELECT p.id, e.code, u.first_name, u.last_name, u.national_id, " +
+            "p.gross_salary, p.housing_amount, p.transport_amount, p.employee_tax_amount, p.pension_amount, " +
+            "p.medical_insurance_amount, p.other_deductions, p.net_salary, p.month, p.year, p.status " +
+            "FROM payslips p JOIN employees e ON e.id = p.employee_id LEFT JOIN users u ON u.id = e.user_id " +
+            "WHERE p.month = ? AND p.year = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayslipExportRepository(DataSource dataSource,
+                                   @Value("${application.payroll.export.fetch-size:1000}") int fetchSize) {
+        // A dedicated template so the fetch size does not apply to other queries
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams the payslips of a period in id order, starting after {@code afterId} when given and stopping
+     * after {@code limit} rows when given, so an export can be fetched in resumable chunks.
+     */
+    public void streamByMonthAndYear(Integer month, Integer year, UUID afterId, Integer limit, Consumer<PayslipExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(List.of(month, year));
+        if (afterId != null) {
+            sql.append(" AND p.id > ?");
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY p.id");
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            args.add(limit);
+        }
+
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+            consumer.accept(new PayslipExportRow(
+                    rs.getObject(1, UUID.class),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    rs.getString(5),
+                    rs.getBigDecimal(6),
+                    rs.getBigDecimal(7),
+                    rs.getBigDecimal(8),
+                    rs.getBigDecimal(9),
+                    rs.getBigDecimal(10),
+                    rs.getBigDecimal(11),
+                    rs.getBigDecimal(12),
+                    rs.getBigDecimal(13),
+                    rs.getInt(14),
+                    rs.getInt(15),
+                    rs.getString(16)
+            ));
+        }, args.toArray());
+    }
+}
@@ -0,0 +1,19 @@
+package com.erp.repositories.projections;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A payslip flipped to PAID by a bulk approval, with what is needed to notify its employee.
+ */
+public record ApprovedPayslip(
+        UUID payslipId,
+        UUID employeeId,
+        String employeeCode,
+        String firstName,
+        String email,
+        BigDecimal netSalary,
+        Integer month,
+        Integer year
+) {
+}
@@ -0,0 +1,25 @@
+package com.erp.repositories.projections;
+
+import com.erp.enums.IEmailTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An email waiting in the outbox. {@code id} and {@code attempts} are assigned by the outbox.
+ */
+public record OutboxEmail(
+        UUID id,
+        String recipient,
+        String username,
+        String subject,
+        IEmailTemplate template,
+        Map<String, Object> variables,
+        int attempts
+) {
+
+    public static OutboxEmail of(String recipient, String username, String subject, IEmailTemplate template,
+                                 Map<String, Object> variables) {
+        return new OutboxEmail(null, recipient, username, subject, template, variables, 0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.erp.repositories.projections;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One line of a payroll period export.
+ */
+public record PayslipExportRow(
+        UUID payslipId,
+        String employeeCode,
+        String firstName,
+        String lastName,
+        String nationalId,
+        BigDecimal grossSalary,
+        BigDecimal housingAmount,
+        BigDecimal transportAmount,
+        BigDecimal employeeTaxAmount,
+        BigDecimal pensionAmount,
+        BigDecimal medicalInsuranceAmount,
+        BigDecimal otherDeductions,
+        BigDecimal netSalary,
+        Integer month,
+        Integer year,
+        String status
+) {
+}
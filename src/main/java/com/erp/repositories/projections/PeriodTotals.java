@@ -0,0 +1,43 @@
+package com.erp.repositories.projections;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Summed payslip amounts of a period. Department and status are null once totals of different ones are added up.
+ */
+public record PeriodTotals(
+        String department,
+        String status,
+        long payslipCount,
+        BigDecimal grossSalary,
+        BigDecimal netSalary,
+        BigDecimal employeeTaxAmount,
+        BigDecimal pensionAmount,
+        BigDecimal medicalInsuranceAmount,
+        BigDecimal housingAmount,
+        BigDecimal transportAmount,
+        BigDecimal otherDeductions
+) {
+
+    public static PeriodTotals empty(String department, String status) {
+        return new PeriodTotals(department, status, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public PeriodTotals plus(PeriodTotals other) {
+        return new PeriodTotals(
+                Objects.equals(department, other.department) ? department : null,
+                Objects.equals(status, other.status) ? status : null,
+                payslipCount + other.payslipCount,
+                grossSalary.add(other.grossSalary),
+                netSalary.add(other.netSalary),
+                employeeTaxAmount.add(other.employeeTaxAmount),
+                pensionAmount.add(other.pensionAmount),
+                medicalInsuranceAmount.add(other.medicalInsuranceAmount),
+                housingAmount.add(other.housingAmount),
+                transportAmount.add(other.transportAmount),
+                otherDeductions.add(other.otherDeductions)
+        );
+    }
+}
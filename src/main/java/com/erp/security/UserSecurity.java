@@ -1,19 +1,19 @@
 package com.erp.security;
 
-import com.erp.models.Employee;
-import com.erp.models.User;
+import com.erp.exceptions.AppException;
+import com.erp.security.user.UserPrincipal;
 import com.erp.services.IEmployeeService;
-import com.erp.services.IUserService;
+import com.erp.utils.UserUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Component("userSecurity")
 @RequiredArgsConstructor
 public class UserSecurity {
 
-    private final IUserService userService;
     private final IEmployeeService employeeService;
 
     /**
@@ -22,7 +22,7 @@ public class UserSecurity {
      * @return true if the current user is the same as the user with the given ID, false otherwise
      */
     public boolean isCurrentUser(UUID userId) {
-        User currentUser = userService.getLoggedInUser();
+        UserPrincipal currentUser = UserUtils.getLoggedInUser();
         return currentUser != null && currentUser.getId().equals(userId);
     }
 
@@ -32,16 +32,36 @@ public class UserSecurity {
      * @return true if the current user is the employee with the given ID, false otherwise
      */
     public boolean isCurrentEmployee(UUID employeeId) {
-        User currentUser = userService.getLoggedInUser();
-        if (currentUser == null) {
+        UserPrincipal currentUser = UserUtils.getLoggedInUser();
+        if (currentUser == null || employeeId == null) {
             return false;
         }
-        
-        try {
-            Employee employee = employeeService.findEmployeeById(employeeId);
-            return employee.getUser().getId().equals(currentUser.getId());
-        } catch (Exception e) {
-            return false;
+
+        // The principal carries the employee id, so the usual check is an in-memory comparison. The cached
+        // lookup covers tokens issued before the employee record was created or after it was replaced.
+        if (employeeId.equals(currentUser.getEmployeeId())) {
+            return true;
+        }
+        return employeeId.equals(findEmployeeId(currentUser).orElse(null));
+    }
+
+    /**
+     * @return the employee id of the current user
+     * @throws AppException if the current user has no employee record
+     */
+    public UUID getCurrentEmployeeId() {
+        UserPrincipal currentUser = UserUtils.getLoggedInUser();
+        if (currentUser == null) {
+            throw new AppException("No authenticated user");
         }
+        if (currentUser.getEmployeeId() != null) {
+            return currentUser.getEmployeeId();
+        }
+        return findEmployeeId(currentUser)
+                .orElseThrow(() -> new AppException("Employee not found for user: " + currentUser.getId()));
+    }
+
+    private Optional<UUID> findEmployeeId(UserPrincipal currentUser) {
+        return employeeService.findEmployeeIdByUserId(currentUser.getId());
     }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -26,6 +27,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenVersionService tokenVersionService;
+
+    @Value("${application.security.jwt.stateless:true}")
+    private boolean stateless;
 
     public void throwErrors(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain, Exception e) throws ServletException, IOException {
         TokenException exception = new TokenException(e.getMessage());
@@ -66,8 +71,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (jwtUserInfo.getEmail() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserPrincipal userPrincipal = (UserPrincipal) customUserDetailsService.loadUserByUsername(jwtUserInfo.getEmail());
-                if (jwtUtils.isTokenValid(jwtToken, userPrincipal)) {
+                UserPrincipal userPrincipal = resolvePrincipal(jwtUserInfo);
+                if (jwtUtils.isTokenValid(jwtUserInfo, userPrincipal)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userPrincipal, jwtToken, userPrincipal.getAuthorities()
                     );
@@ -75,11 +80,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
                 filterChain.doFilter(request, response);
-            } catch (UsernameNotFoundException e) {
+            } catch (UsernameNotFoundException | JWTVerificationException e) {
                 throwErrors(request, response, filterChain, e);
             }
         } else {
             filterChain.doFilter(request, response);
         }
     }
+
+    /**
+     * In stateless mode the principal is built from the verified claims and only the token version is checked,
+     * from a short-lived cache. Tokens issued without a version still load the user from the database.
+     */
+    private UserPrincipal resolvePrincipal(JwtUserInfo jwtUserInfo) {
+        if (stateless && jwtUserInfo.getTokenVersion() != null) {
+            if (!tokenVersionService.isCurrent(jwtUserInfo.getUserId(), jwtUserInfo.getTokenVersion())) {
+                throw new JWTVerificationException("Token has been revoked");
+            }
+            return UserPrincipal.create(
+                    jwtUserInfo.getUserId(),
+                    jwtUserInfo.getEmail(),
+                    jwtUserInfo.getRole(),
+                    jwtUserInfo.getTokenVersion(),
+                    jwtUserInfo.getEmployeeId()
+            );
+        }
+        return (UserPrincipal) customUserDetailsService.loadUserByUsername(jwtUserInfo.getEmail());
+    }
 }
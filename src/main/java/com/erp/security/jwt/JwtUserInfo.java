@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,4 +17,12 @@ public class JwtUserInfo {
     private UUID userId;
     private String email;
     private List<String> role;
+    private Date expiration;
+    // Null for tokens issued before token versions were introduced
+    private Long tokenVersion;
+    private UUID employeeId;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
 }
@@ -3,6 +3,9 @@ package com.erp.security.jwt;
 import com.erp.exceptions.JWTVerificationException;
 import com.erp.security.user.UserPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -20,19 +23,32 @@ import java.util.function.Function;
 @Service
 public class JwtUtils {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String jwtSecretKey;
-
-    @Value("${application.security.jwt.expiration}")
-    private long jwtAccessTokenExpiration;
-
-    @Value("${application.security.jwt.refresh-token.expiration}")
-    private long jwtRefreshTokenExpiration;
-
     private static final String CLAIM_KEY_USER_ID = "userId";
     private static final String CLAIM_KEY_EMAIL = "email";
     private static final String CLAIM_KEY_ROLE = "role";
+    private static final String CLAIM_KEY_TOKEN_VERSION = "ver";
+    private static final String CLAIM_KEY_EMPLOYEE_ID = "employeeId";
+
+    private final long jwtAccessTokenExpiration;
+
+    private final long jwtRefreshTokenExpiration;
 
+    // Both are immutable and thread-safe, so they are built once instead of on every token operation
+    private final Key signInKey;
+
+    private final JwtParser jwtParser;
+
+    public JwtUtils(@Value("${application.security.jwt.secret-key}") String jwtSecretKey,
+                    @Value("${application.security.jwt.expiration}") long jwtAccessTokenExpiration,
+                    @Value("${application.security.jwt.refresh-token.expiration}") long jwtRefreshTokenExpiration) {
+        this.jwtAccessTokenExpiration = jwtAccessTokenExpiration;
+        this.jwtRefreshTokenExpiration = jwtRefreshTokenExpiration;
+        // The JWT JWA Specification requires keys used with HMAC-SHA algorithms to have a size >= 256 bits
+        this.signInKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -47,14 +63,7 @@ public class JwtUtils {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey())
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public String generateAccessToken(Authentication authentication) {
@@ -66,15 +75,22 @@ public class JwtUtils {
                 .map(GrantedAuthority::getAuthority)
                 .toList();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setId(userPrincipal.getId().toString())
                 .setSubject(userPrincipal.getUsername())
                 .claim(CLAIM_KEY_USER_ID, userPrincipal.getId().toString())
                 .claim(CLAIM_KEY_EMAIL, userPrincipal.getUsername())
                 .claim(CLAIM_KEY_ROLE, roles)
+                .claim(CLAIM_KEY_TOKEN_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setExpiration(expiryDate);
+
+        if (userPrincipal.getEmployeeId() != null) {
+            builder.claim(CLAIM_KEY_EMPLOYEE_ID, userPrincipal.getEmployeeId().toString());
+        }
+
+        return builder
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -87,30 +103,43 @@ public class JwtUtils {
                 .claim(CLAIM_KEY_USER_ID, userPrincipal.getId().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS512)
+                .signWith(signInKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiry and reads the user claims, parsing the token only once.
+     */
     public JwtUserInfo decodeToken(String token) throws JWTVerificationException {
-        Claims claims = extractAllClaims(token);
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JWTVerificationException(e.getMessage());
+        }
+
         UUID userId = UUID.fromString((String) claims.get(CLAIM_KEY_USER_ID));
         String email = (String) claims.get(CLAIM_KEY_EMAIL);
         List<String> role = (List<String>) claims.get(CLAIM_KEY_ROLE);
+        Object tokenVersion = claims.get(CLAIM_KEY_TOKEN_VERSION);
+        String employeeId = (String) claims.get(CLAIM_KEY_EMPLOYEE_ID);
 
         return new JwtUserInfo()
                 .setUserId(userId)
                 .setEmail(email)
-                .setRole(role);
+                .setRole(role)
+                .setExpiration(claims.getExpiration())
+                .setTokenVersion(tokenVersion instanceof Number version ? version.longValue() : null)
+                .setEmployeeId(employeeId == null ? null : UUID.fromString(employeeId));
     }
 
-    public boolean isTokenValid(String token, UserPrincipal userPrincipal) {
-        String email = (String) extractAllClaims(token).get(CLAIM_KEY_EMAIL);
-        return email.equals(userPrincipal.getUsername()) && !isTokenExpired(token);
+    public boolean isTokenValid(JwtUserInfo jwtUserInfo, UserPrincipal userPrincipal) {
+        return jwtUserInfo.getEmail() != null
+                && jwtUserInfo.getEmail().equals(userPrincipal.getUsername())
+                && !jwtUserInfo.isExpired();
     }
 
-    private Key getSignInKey() {
-        // Use the secret key from application.yml
-        // The JWT JWA Specification requires keys used with HMAC-SHA algorithms to have a size >= 256 bits
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+    public boolean isTokenValid(String token, UserPrincipal userPrincipal) {
+        return isTokenValid(decodeToken(token), userPrincipal);
     }
 }
@@ -0,0 +1,59 @@
+package com.erp.security.jwt;
+
+import com.erp.config.CacheConfig;
+import com.erp.exceptions.JWTVerificationException;
+import com.erp.repositories.IUserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Short-lived, per-node cache of each user's current token version, used by stateless authentication to
+ * reject revoked tokens without querying the database on every request. Changes made on this node are
+ * visible immediately; changes made on other nodes within {@code application.security.jwt.token-version-ttl}.
+ * The cache is {@link CacheConfig#TOKEN_VERSIONS}, so its hit rate is reported with the other cache metrics.
+ */
+@Service
+public class TokenVersionService {
+
+    // Deleted users have no version, and no token can carry a negative one
+    private static final long UNKNOWN_USER = -1L;
+
+    private final IUserRepository userRepository;
+    private final Cache versions;
+
+    public TokenVersionService(IUserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.versions = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOKEN_VERSIONS), CacheConfig.TOKEN_VERSIONS);
+    }
+
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        try {
+            Long current = versions.get(userId, () -> userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER));
+            return current != null && current == tokenVersion;
+        } catch (Cache.ValueRetrievalException e) {
+            throw new JWTVerificationException("Unable to verify token version: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Drops the cached version of a user whose tokens were just revoked. When called inside a transaction
+     * the entry is dropped again after commit, so a request racing the commit cannot re-cache the old version.
+     */
+    public void evict(UUID userId) {
+        versions.evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.evict(userId);
+                }
+            });
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.erp.security.user;
 
+import com.erp.config.CacheConfig;
 import com.erp.exceptions.BadRequestException;
 import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
 import com.erp.repositories.IUserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,22 +18,25 @@ import java.util.UUID;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final IUserRepository userRepository;
+    private final IEmployeeRepository employeeRepository;
 
 
     @Autowired
-    public CustomUserDetailsService(IUserRepository userRepository) {
+    public CustomUserDetailsService(IUserRepository userRepository, IEmployeeRepository employeeRepository) {
         this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
     }
 
     @Transactional
     public UserDetails loadByUserId(UUID id) {
         User user = this.userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
-        return UserPrincipal.create(user);
+        return UserPrincipal.create(user, employeeRepository.findIdByUserId(user.getId()).orElse(null));
     }
 
     @Transactional
+    @Cacheable(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#s")
     public UserDetails loadUserByUsername(String s) throws BadRequestException {
         User user = userRepository.findUserByEmail(s).orElseThrow(() -> new UsernameNotFoundException("user not found with email of " + s));
-        return UserPrincipal.create(user);
+        return UserPrincipal.create(user, employeeRepository.findIdByUserId(user.getId()).orElse(null));
     }
 }
@@ -0,0 +1,49 @@
+package com.erp.security.user;
+
+import com.erp.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts as soon as the change is published, so the rest of the transaction cannot read a stale principal.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event);
+    }
+
+    /**
+     * Evicts again after commit, in case a concurrent request re-cached the old state before the change was visible.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void afterUserChangeCommitted(UserChangedEvent event) {
+        evict(event);
+    }
+
+    private void evict(UserChangedEvent event) {
+        if (event.email() != null) {
+            evict(CacheConfig.USER_PRINCIPALS, event.email());
+        }
+        if (event.userId() != null) {
+            evict(CacheConfig.USER_EMPLOYEES, event.userId());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
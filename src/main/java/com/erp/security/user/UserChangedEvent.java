@@ -0,0 +1,10 @@
+package com.erp.security.user;
+
+import java.util.UUID;
+
+/**
+ * Published when anything held in a cached {@link UserPrincipal} or in the user to employee mapping changes.
+ * {@code email} is the email the principal is cached under, i.e. the email before the change.
+ */
+public record UserChangedEvent(UUID userId, String email) {
+}
@@ -10,6 +10,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,8 +23,16 @@ public class UserPrincipal implements UserDetails {
     @JsonIgnore
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    @JsonIgnore
+    private long tokenVersion;
+    // Null when the user has no employee record
+    private UUID employeeId;
 
     public static UserPrincipal create(User user) {
+        return create(user, null);
+    }
+
+    public static UserPrincipal create(User user, UUID employeeId) {
         Collection<SimpleGrantedAuthority> authorities = user.getRoles()
                 .stream()
                 .map(role -> {
@@ -36,10 +45,23 @@ public class UserPrincipal implements UserDetails {
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getTokenVersion(),
+                employeeId
         );
     }
 
+    /**
+     * Builds a principal from verified token claims, without loading the user. Such a principal has no password.
+     */
+    public static UserPrincipal create(UUID id, String email, List<String> roles, long tokenVersion, UUID employeeId) {
+        List<SimpleGrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream().map(SimpleGrantedAuthority::new).toList();
+
+        return new UserPrincipal(id, email, null, authorities, tokenVersion, employeeId);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -1,8 +1,12 @@
 package com.erp.services;
 
 import com.erp.models.Deduction;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface IDeductionService {
@@ -11,7 +15,9 @@ public interface IDeductionService {
     Deduction findDeductionById(UUID id);
     Deduction findDeductionByCode(String code);
     Deduction findDeductionByName(String name);
-    List<Deduction> findAllDeductions();
+    Window<Deduction> findAllDeductions(CursorRequest request);
     void deleteDeduction(UUID id);
     void initializeDefaultDeductions();
+    DeductionRuleSet getRuleSet();
+    Optional<LocalDateTime> findLastModifiedAt();
 }
\ No newline at end of file
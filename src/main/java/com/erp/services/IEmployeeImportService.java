@@ -0,0 +1,11 @@
+package com.erp.services;
+
+import com.erp.dtos.response.employee.EmployeeImportReport;
+import com.erp.enums.EImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IEmployeeImportService {
+    EmployeeImportReport importEmployees(InputStream in, EImportFormat format) throws IOException;
+}
@@ -2,16 +2,20 @@ package com.erp.services;
 
 import com.erp.models.Employee;
 import com.erp.models.User;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface IEmployeeService {
     Employee createEmployee(Employee employee);
     Employee updateEmployee(UUID id, Employee employee);
     Employee findEmployeeById(UUID id);
+    Employee getEmployeeReference(UUID id);
     Employee findEmployeeByCode(String code);
     Employee findEmployeeByUser(User user);
-    List<Employee> findAllEmployees();
+    Optional<UUID> findEmployeeIdByUserId(UUID userId);
+    Window<Employee> findAllEmployees(CursorRequest request);
     void deleteEmployee(UUID id);
 }
\ No newline at end of file
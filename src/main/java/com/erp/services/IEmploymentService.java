@@ -3,7 +3,10 @@ package com.erp.services;
 import com.erp.models.Employee;
 import com.erp.models.Employment;
 import com.erp.enums.EEmploymentStatus;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +18,8 @@ public interface IEmploymentService {
     List<Employment> findEmploymentsByEmployee(Employee employee);
     List<Employment> findEmploymentsByEmployeeAndStatus(Employee employee, EEmploymentStatus status);
     Employment findActiveEmploymentByEmployee(Employee employee);
-    List<Employment> findAllEmployments();
+    List<Employment> findAllActiveEmployments();
+    List<Employment> findActiveEmploymentsByEmployeeIds(Collection<UUID> employeeIds);
+    Window<Employment> findAllEmployments(CursorRequest request);
     void deleteEmployment(UUID id);
 }
\ No newline at end of file
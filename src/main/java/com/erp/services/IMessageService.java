@@ -3,6 +3,9 @@ package com.erp.services;
 import com.erp.models.Employee;
 import com.erp.models.Message;
 import com.erp.models.Payslip;
+import com.erp.repositories.projections.ApprovedPayslip;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,8 +13,9 @@ import java.util.UUID;
 public interface IMessageService {
     Message createMessage(Message message);
     Message createPayslipApprovalMessage(Payslip payslip);
+    void createPayslipApprovalMessages(List<ApprovedPayslip> approvedPayslips);
     Message findMessageById(UUID id);
     List<Message> findMessagesByEmployee(Employee employee);
     List<Message> findMessagesByEmployeeAndMonthYear(Employee employee, String monthYear);
-    List<Message> findAllMessages();
+    Window<Message> findAllMessages(CursorRequest request);
 }
\ No newline at end of file
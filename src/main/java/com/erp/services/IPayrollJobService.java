@@ -0,0 +1,15 @@
+package com.erp.services;
+
+import com.erp.dtos.response.payroll.PayrollJobResponseDTO;
+import com.erp.models.Payslip;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
+
+import java.util.UUID;
+
+public interface IPayrollJobService {
+    PayrollJobResponseDTO submitGenerateJob(Integer month, Integer year);
+    PayrollJobResponseDTO submitApproveJob(Integer month, Integer year);
+    PayrollJobResponseDTO getJob(UUID jobId);
+    Window<Payslip> getJobResults(UUID jobId, CursorRequest request);
+}
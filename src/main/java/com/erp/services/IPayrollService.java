@@ -1,8 +1,15 @@
 package com.erp.services;
 
+import com.erp.dtos.response.payslip.PayrollPeriodSummaryDTO;
+import com.erp.dtos.response.payslip.PayrollRecomputeReport;
+import com.erp.dtos.response.payslip.PayrollRunReport;
+import com.erp.enums.EPayrollSummaryGrouping;
+import com.erp.enums.ERecomputeMode;
 import com.erp.models.Employee;
 import com.erp.models.Payslip;
 import com.erp.enums.EPayslipStatus;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,14 +17,20 @@ import java.util.UUID;
 public interface IPayrollService {
     Payslip generatePayslip(Employee employee, Integer month, Integer year);
     List<Payslip> generatePayrollForMonth(Integer month, Integer year);
+    PayrollRunReport generatePayrollForMonthPartitioned(Integer month, Integer year);
+    PayrollRunReport generatePayrollForMonthPartitioned(Integer month, Integer year, PayrollRunListener listener);
+    PayrollRecomputeReport recomputePendingPayslips(Integer month, Integer year, ERecomputeMode mode);
     Payslip approvePayslip(UUID payslipId);
     List<Payslip> approvePayrollForMonth(Integer month, Integer year);
+    List<UUID> bulkApprovePayrollForMonth(Integer month, Integer year);
+    int bulkApprovePayrollForMonth(Integer month, Integer year, PayrollRunListener listener);
     Payslip findPayslipById(UUID id);
-    List<Payslip> findPayslipsByEmployee(Employee employee);
-    List<Payslip> findPayslipsByEmployeeAndStatus(Employee employee, EPayslipStatus status);
-    List<Payslip> findPayslipsByStatus(EPayslipStatus status);
-    List<Payslip> findPayslipsByMonthAndYear(Integer month, Integer year);
-    List<Payslip> findPayslipsByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status);
+    Window<Payslip> findPayslipsByEmployee(Employee employee, CursorRequest request);
+    Window<Payslip> findPayslipsByEmployeeAndStatus(Employee employee, EPayslipStatus status, CursorRequest request);
+    Window<Payslip> findPayslipsByStatus(EPayslipStatus status, CursorRequest request);
+    Window<Payslip> findPayslipsByMonthAndYear(Integer month, Integer year, CursorRequest request);
+    Window<Payslip> findPayslipsByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status, CursorRequest request);
     Payslip findPayslipByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
     boolean existsPayslipByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year);
+    PayrollPeriodSummaryDTO getPeriodSummary(Integer month, Integer year, EPayrollSummaryGrouping groupBy);
 }
\ No newline at end of file
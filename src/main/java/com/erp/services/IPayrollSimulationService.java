@@ -0,0 +1,11 @@
+package com.erp.services;
+
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.enums.EDeductionType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface IPayrollSimulationService {
+    PayrollSimulationResultDTO simulate(Map<EDeductionType, BigDecimal> percentages, boolean refreshSnapshot);
+}
@@ -0,0 +1,11 @@
+package com.erp.services;
+
+import com.erp.enums.EExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface IPayslipExportService {
+    void exportPayslips(Integer month, Integer year, EExportFormat format, UUID afterId, Integer limit, OutputStream out) throws IOException;
+}
@@ -10,8 +10,9 @@ import com.erp.dtos.request.user.UserRoleChangeDTO;
 import com.erp.dtos.request.user.UserRoleModificationDTO;
 import com.erp.dtos.request.user.UserStatusChangeDTO;
 import com.erp.models.User;
+import com.erp.utils.pagination.CursorRequest;
+import org.springframework.data.domain.Window;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface IUserService {
@@ -24,7 +25,7 @@ public interface IUserService {
 
     UserResponseDTO createEmployee(RegisterUserDTO registerUserDTO);
 
-    List<User> getUsers();
+    Window<User> getUsers(CursorRequest request);
 
     UserResponseDTO getUserById(UUID uuid);
 
@@ -0,0 +1,27 @@
+package com.erp.services;
+
+import com.erp.dtos.response.payslip.PayrollChunkReport;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Receives progress callbacks from a partitioned payroll run or a batched approval.
+ * Chunk callbacks arrive on worker threads, so implementations must be thread-safe.
+ */
+public interface PayrollRunListener {
+
+    PayrollRunListener NONE = new PayrollRunListener() { };
+
+    default void onStart(int totalEmployees, int totalChunks) {
+    }
+
+    default void onChunkCompleted(PayrollChunkReport chunkReport) {
+    }
+
+    /**
+     * The payslips a chunk generated, or a batch approved, once their transaction has committed.
+     */
+    default void onPayslipsCommitted(List<UUID> payslipIds) {
+    }
+}
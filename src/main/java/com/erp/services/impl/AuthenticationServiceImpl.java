@@ -4,21 +4,30 @@ import com.erp.dtos.request.auth.LoginDTO;
 import com.erp.dtos.response.auth.AuthResponse;
 import com.erp.enums.IEmailTemplate;
 import com.erp.exceptions.AppException;
+import com.erp.exceptions.TooManyRequestsException;
 import com.erp.models.User;
 import com.erp.repositories.IUserRepository;
 import com.erp.security.jwt.JwtUtils;
+import com.erp.security.jwt.TokenVersionService;
+import com.erp.security.user.UserChangedEvent;
 import com.erp.security.user.UserPrincipal;
 import com.erp.services.IAuthService;
-import com.erp.services.IUserService;
-import com.erp.standalone.EmailService;
+import com.erp.services.IEmployeeService;
+import com.erp.standalone.EmailOutbox;
 import com.erp.utils.UserUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -29,38 +38,72 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements IAuthService {
 
+    private static final String LOGIN_TIMER = "auth.login";
+
     private final IUserRepository userRepository;
     private final JwtUtils jwtUtils;
-    private final AuthenticationProvider authenticationProvider;
-    private final EmailService emailService;
-    private final IUserService userService;
+    private final EmailOutbox emailOutbox;
+    private final IEmployeeService employeeService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final UserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+    private volatile String userNotFoundPassword;
 
 
 
+    /**
+     * Loads the user once, with its roles, and builds the token from that same entity. No transaction is held
+     * open while the password is hashed, so a queue of logins does not also hold database connections.
+     */
     @Override
     public AuthResponse login(LoginDTO loginDTO) {
-        Authentication authentication = authenticateUser(loginDTO);
-        return generateJwtAuthenticationResponse(authentication);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            User user = userRepository.findUserByEmail(loginDTO.getEmail()).orElse(null);
+            // Unknown emails are hashed too, so the response time does not reveal which accounts exist
+            String encodedPassword = user != null ? user.getPassword() : userNotFoundPassword();
+            boolean passwordMatches = passwordEncoder.matches(loginDTO.getPassword(), encodedPassword);
+            if (user == null || !passwordMatches) {
+                outcome = "bad_credentials";
+                throw new BadCredentialsException("Bad credentials");
+            }
+
+            UserPrincipal userPrincipal = UserPrincipal.create(user, employeeService.findEmployeeIdByUserId(user.getId()).orElse(null));
+            accountStatusChecker.check(userPrincipal);
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    userPrincipal, null, userPrincipal.getAuthorities()
+            );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            String jwt = jwtUtils.generateAccessToken(authentication);
+            user.setFullName(user.getFirstName() + " " + user.getLastName());
+            outcome = "success";
+            return new AuthResponse(jwt, user);
+        } catch (TooManyRequestsException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(LOGIN_TIMER)
+                    .description("Login latency, including the wait for a password hashing thread")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
-    private Authentication authenticateUser(LoginDTO loginDTO) {
-        UsernamePasswordAuthenticationToken authRequest =
-                new UsernamePasswordAuthenticationToken(loginDTO.getEmail(), loginDTO.getPassword());
-        Authentication authentication = authenticationProvider.authenticate(authRequest);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        return authentication;
-    }
-    private AuthResponse generateJwtAuthenticationResponse(Authentication authentication) {
-        String jwt = jwtUtils.generateAccessToken(authentication);
-        UserPrincipal userPrincipal = UserUtils.getLoggedInUser();
-        assert userPrincipal != null;
-        User user = userService.findUserById(userPrincipal.getId());
-        user.setFullName(user.getFirstName() + " " + user.getLastName());
-        return new AuthResponse(jwt, user);
+    private String userNotFoundPassword() {
+        if (userNotFoundPassword == null) {
+            userNotFoundPassword = passwordEncoder.encode("userNotFoundPassword");
+        }
+        return userNotFoundPassword;
     }
 
     @Override
+    @Transactional
     public void forgotPassword(String email) {
         User user = userRepository.findUserByEmail(email).orElseThrow(
                 () -> new AppException(String.format("User with email %s not found", email))
@@ -74,17 +117,13 @@ public class AuthenticationServiceImpl implements IAuthService {
         Map<String, Object> variables = new HashMap<>();
         variables.put("code", resetCode);
 
-        try {
-            emailService.sendEmail(
-                    user.getEmail(),
-                    user.getFirstName(),
-                    "Reset your password",
-                    IEmailTemplate.RESET_PASSWORD,
-                    variables
-            );
-        } catch (Exception e) {
-            throw new AppException("Failed to send reset password email: " + e.getMessage());
-        }
+        emailOutbox.enqueue(
+                user.getEmail(),
+                user.getFirstName(),
+                "Reset your password",
+                IEmailTemplate.RESET_PASSWORD,
+                variables
+        );
     }
 
 
@@ -106,11 +145,15 @@ public class AuthenticationServiceImpl implements IAuthService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordResetCode(null);
         user.setPasswordResetCodeGeneratedAt(null);
+        user.revokeTokens();
         userRepository.save(user);
+        tokenVersionService.evict(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 
 
     @Override
+    @Transactional
     public void initiateAccountVerificaton(String email) {
         User user = userRepository.findUserByEmail(email).orElseThrow(
                 () -> new AppException(String.format("User with email %s not found", email))
@@ -126,17 +169,13 @@ public class AuthenticationServiceImpl implements IAuthService {
         Map<String, Object> variables = new HashMap<>();
         variables.put("code", verificationCode);
 
-        try{
-            emailService.sendEmail(
-                    user.getEmail(),
-                    user.getFirstName(),
-                    "Verify your account",
-                    IEmailTemplate.ACCOUNT_VERIFICATION,
-                    variables
-            );
-        } catch (Exception e){
-            throw new AppException("Failed to send verification email: " + e.getMessage());
-        }
+        emailOutbox.enqueue(
+                user.getEmail(),
+                user.getFirstName(),
+                "Verify your account",
+                IEmailTemplate.ACCOUNT_VERIFICATION,
+                variables
+        );
     }
 
     @Override
@@ -160,6 +199,7 @@ public class AuthenticationServiceImpl implements IAuthService {
 
 
     @Override
+    @Transactional
     public void resendVerificationCode(String email) {
         User user = userRepository.findUserByEmail(email).orElseThrow(
                 () -> new AppException("User not found")
@@ -175,17 +215,13 @@ public class AuthenticationServiceImpl implements IAuthService {
         Map<String, Object> variables = new HashMap<>();
         variables.put("code", newCode);
 
-        try {
-            emailService.sendEmail(
-                    user.getEmail(),
-                    user.getFirstName(),
-                    "Resend Account Verification",
-                    IEmailTemplate.ACCOUNT_VERIFICATION,
-                    variables
-            );
-        } catch (Exception e) {
-            throw new AppException("Failed to resend verification email: " + e.getMessage());
-        }
+        emailOutbox.enqueue(
+                user.getEmail(),
+                user.getFirstName(),
+                "Resend Account Verification",
+                IEmailTemplate.ACCOUNT_VERIFICATION,
+                variables
+        );
     }
 
     @Override
@@ -199,7 +235,10 @@ public class AuthenticationServiceImpl implements IAuthService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.revokeTokens();
         userRepository.save(user);
+        tokenVersionService.evict(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 
 
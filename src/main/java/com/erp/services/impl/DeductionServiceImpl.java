@@ -4,13 +4,25 @@ import com.erp.exceptions.AppException;
 import com.erp.models.Deduction;
 import com.erp.repositories.IDeductionRepository;
 import com.erp.services.IDeductionService;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.utils.UniqueConstraints;
+import com.erp.utils.pagination.CursorRequest;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -18,43 +30,35 @@ public class DeductionServiceImpl implements IDeductionService {
 
     private final IDeductionRepository deductionRepository;
 
+    // Bumped after every write. A rule set is only served while its version is the current generation, so a
+    // compile that read the table before a concurrent write and was published after it is never served again.
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<DeductionRuleSet> ruleSet = new AtomicReference<>();
+
+    @Value("${application.payroll.deduction-rules.ttl:PT5M}")
+    private Duration ruleSetTtl;
+
     @Override
     public Deduction createDeduction(Deduction deduction) {
-        // Check if deduction with the same code already exists
-        if (deductionRepository.findByCode(deduction.getCode()).isPresent()) {
-            throw new AppException("Deduction with code " + deduction.getCode() + " already exists");
-        }
-        
-        // Check if deduction with the same name already exists
-        if (deductionRepository.findByName(deduction.getName()).isPresent()) {
-            throw new AppException("Deduction with name " + deduction.getName() + " already exists");
-        }
-        
-        return deductionRepository.save(deduction);
+        Deduction savedDeduction = UniqueConstraints.write(() -> deductionRepository.saveAndFlush(deduction),
+                uniqueViolations(deduction));
+        invalidateRuleSet();
+        return savedDeduction;
     }
 
     @Override
     public Deduction updateDeduction(UUID id, Deduction deduction) {
         Deduction existingDeduction = findDeductionById(id);
-        
-        // If code is being changed, check if the new code is already in use
-        if (!existingDeduction.getCode().equals(deduction.getCode()) && 
-            deductionRepository.findByCode(deduction.getCode()).isPresent()) {
-            throw new AppException("Deduction with code " + deduction.getCode() + " already exists");
-        }
-        
-        // If name is being changed, check if the new name is already in use
-        if (!existingDeduction.getName().equals(deduction.getName()) && 
-            deductionRepository.findByName(deduction.getName()).isPresent()) {
-            throw new AppException("Deduction with name " + deduction.getName() + " already exists");
-        }
-        
+
         // Update fields
         existingDeduction.setCode(deduction.getCode());
         existingDeduction.setName(deduction.getName());
         existingDeduction.setPercentage(deduction.getPercentage());
         
-        return deductionRepository.save(existingDeduction);
+        Deduction updatedDeduction = UniqueConstraints.write(() -> deductionRepository.saveAndFlush(existingDeduction),
+                uniqueViolations(deduction));
+        invalidateRuleSet();
+        return updatedDeduction;
     }
 
     @Override
@@ -76,14 +80,51 @@ public class DeductionServiceImpl implements IDeductionService {
     }
 
     @Override
-    public List<Deduction> findAllDeductions() {
-        return deductionRepository.findAll();
+    public Window<Deduction> findAllDeductions(CursorRequest request) {
+        return deductionRepository.findAllBy(request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
     public void deleteDeduction(UUID id) {
         Deduction deduction = findDeductionById(id);
         deductionRepository.delete(deduction);
+        invalidateRuleSet();
+    }
+
+    @Override
+    public DeductionRuleSet getRuleSet() {
+        DeductionRuleSet current = ruleSet.get();
+        if (current != null && current.getVersion() == generation.get()
+                && current.getCompiledAt().plus(ruleSetTtl).isAfter(Instant.now())) {
+            return current;
+        }
+
+        long compiledGeneration = generation.get();
+        DeductionRuleSet compiled = DeductionRuleSet.compile(compiledGeneration, deductionRepository.findAll());
+        if (generation.get() == compiledGeneration) {
+            ruleSet.compareAndSet(current, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * When any deduction was last created or changed. Deletions leave no trace, so they call for a full recompute.
+     */
+    @Override
+    public Optional<LocalDateTime> findLastModifiedAt() {
+        return deductionRepository.findLastModifiedAt();
+    }
+
+    private void invalidateRuleSet() {
+        generation.incrementAndGet();
+        ruleSet.set(null);
+    }
+
+    private static Map<String, Supplier<? extends RuntimeException>> uniqueViolations(Deduction deduction) {
+        return Map.of(
+                UniqueConstraints.DEDUCTIONS_CODE, () -> new AppException("Deduction with code " + deduction.getCode() + " already exists"),
+                UniqueConstraints.DEDUCTIONS_NAME, () -> new AppException("Deduction with name " + deduction.getName() + " already exists")
+        );
     }
 
     @Override
@@ -98,6 +139,7 @@ public class DeductionServiceImpl implements IDeductionService {
             createDefaultDeduction("DED004", "Housing", new BigDecimal("14.0"));
             createDefaultDeduction("DED005", "Transport", new BigDecimal("14.0"));
             createDefaultDeduction("DED006", "Others", new BigDecimal("5.0"));
+            invalidateRuleSet();
         }
     }
     
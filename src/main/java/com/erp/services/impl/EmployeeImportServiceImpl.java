@@ -0,0 +1,399 @@
+package com.erp.services.impl;
+
+import com.erp.dtos.request.employee.EmployeeImportRowDTO;
+import com.erp.dtos.response.employee.EmployeeImportReport;
+import com.erp.dtos.response.employee.ImportRowErrorDTO;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EImportFormat;
+import com.erp.exceptions.AppException;
+import com.erp.exceptions.BadRequestException;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.User;
+import com.erp.repositories.EmployeeImportRepository;
+import com.erp.security.user.UserChangedEvent;
+import com.erp.services.IEmployeeImportService;
+import com.erp.utils.UniqueConstraints;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+public class EmployeeImportServiceImpl implements IEmployeeImportService {
+
+    static final List<String> CSV_COLUMNS = List.of("employee_code", "user_email", "date_of_birth", "employee_status",
+            "employment_code", "department", "position", "base_salary", "employment_status", "joining_date");
+
+    private final EmployeeImportRepository employeeImportRepository;
+    private final ObjectReader rowReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public EmployeeImportServiceImpl(EmployeeImportRepository employeeImportRepository,
+                                     ObjectMapper objectMapper,
+                                     Validator validator,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${application.import.chunk-size:1000}") int chunkSize,
+                                     @Value("${application.import.max-errors:1000}") int maxErrors) {
+        this.employeeImportRepository = employeeImportRepository;
+        this.rowReader = objectMapper.readerFor(EmployeeImportRowDTO.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Reads rows as they arrive and imports them in chunks of {@code application.import.chunk-size}. Each chunk
+     * costs four lookups and two batch inserts, in its own transaction, so only one chunk is held in memory and a
+     * failing chunk does not undo the ones before it. A chunk that hits a row inserted concurrently since its
+     * lookups is retried row by row. Rows that cannot be imported are reported with their line.
+     */
+    @Override
+    public EmployeeImportReport importEmployees(InputStream in, EImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        int[] columns = format == EImportFormat.CSV ? readCsvHeader(reader) : null;
+        long line = format == EImportFormat.CSV ? 1 : 0;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            progress.rows++;
+            try {
+                chunk.add(new ImportRow(line, columns != null ? parseCsvRow(text, columns) : parseJsonRow(text)));
+            } catch (IllegalArgumentException e) {
+                progress.fail(line, null, e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        return EmployeeImportReport.builder()
+                .rows(progress.rows)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .chunks(progress.chunks)
+                .failedChunks(progress.failedChunks)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress) {
+        progress.chunks++;
+        List<ImportRow> valid = validate(chunk, progress);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> employeeCodes = new HashSet<>();
+        Set<String> employmentCodes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : valid) {
+            employeeCodes.add(row.data().getEmployeeCode());
+            employmentCodes.add(row.data().getEmploymentCode());
+            emails.add(row.data().getUserEmail());
+        }
+
+        List<Employee> employees = new ArrayList<>(valid.size());
+        List<Employment> employments = new ArrayList<>(valid.size());
+        List<ImportRow> accepted = new ArrayList<>(valid.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> existingEmployeeCodes = employeeImportRepository.findExistingEmployeeCodes(employeeCodes);
+                Set<String> existingEmploymentCodes = employeeImportRepository.findExistingEmploymentCodes(employmentCodes);
+                Map<String, UUID> userIds = employeeImportRepository.findUserIdsByEmail(emails);
+                Set<UUID> usersWithEmployee = employeeImportRepository.findUserIdsWithEmployee(userIds.values());
+
+                for (ImportRow row : valid) {
+                    EmployeeImportRowDTO data = row.data();
+                    UUID userId = userIds.get(data.getUserEmail());
+                    String error = existingEmployeeCodes.contains(data.getEmployeeCode())
+                            ? "Employee with code " + data.getEmployeeCode() + " already exists"
+                            : existingEmploymentCodes.contains(data.getEmploymentCode())
+                            ? "Employment with code " + data.getEmploymentCode() + " already exists"
+                            : userId == null
+                            ? "User with email " + data.getUserEmail() + " not found"
+                            : usersWithEmployee.contains(userId)
+                            ? "Employee for this user already exists"
+                            : null;
+                    if (error != null) {
+                        progress.fail(row.line(), data.getEmployeeCode(), error);
+                        continue;
+                    }
+
+                    User user = User.builder().id(userId).email(data.getUserEmail()).build();
+                    Employee employee = Employee.builder()
+                            .code(data.getEmployeeCode())
+                            .user(user)
+                            .dateOfBirth(data.getDateOfBirth())
+                            .status(data.getEmployeeStatus())
+                            .build();
+                    employees.add(employee);
+                    employments.add(Employment.builder()
+                            .code(data.getEmploymentCode())
+                            .employee(employee)
+                            .department(data.getDepartment())
+                            .position(data.getPosition())
+                            .baseSalary(data.getBaseSalary())
+                            .status(data.getEmploymentStatus())
+                            .joiningDate(data.getJoiningDate())
+                            .build());
+                    accepted.add(row);
+                }
+
+                if (!employees.isEmpty()) {
+                    employeeImportRepository.insertAll(employees, employments);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Typically a row committed concurrently by another request since the lookups. The whole chunk was
+            // rolled back, so its rows are retried one at a time and only the conflicting ones are reported.
+            log.warn("Employee import chunk {} rolled back, retrying its rows one at a time", progress.chunks, e);
+            progress.failedChunks++;
+            List<Employee> imported = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                if (importRow(accepted.get(i), employees.get(i), employments.get(i), progress)) {
+                    imported.add(employees.get(i));
+                }
+            }
+            employees.clear();
+            employees.addAll(imported);
+        } catch (DataAccessException e) {
+            log.warn("Employee import chunk {} rolled back", progress.chunks, e);
+            progress.failedChunks++;
+            for (ImportRow row : accepted) {
+                progress.fail(row.line(), row.data().getEmployeeCode(), "Chunk rolled back, please retry these rows");
+            }
+            return;
+        }
+
+        progress.imported += employees.size();
+        // The users' cached principals and employee ids predate the employee records
+        for (Employee employee : employees) {
+            eventPublisher.publishEvent(new UserChangedEvent(employee.getUser().getId(), employee.getUser().getEmail()));
+        }
+    }
+
+    /**
+     * Inserts a single row in its own transaction. Unique violations are reported with the messages of the
+     * single-row create endpoints; anything else is logged and reported without the database's error text.
+     */
+    private boolean importRow(ImportRow row, Employee employee, Employment employment, ImportProgress progress) {
+        EmployeeImportRowDTO data = row.data();
+        try {
+            UniqueConstraints.write(() -> transactionTemplate.execute(status -> {
+                employeeImportRepository.insertAll(List.of(employee), List.of(employment));
+                return null;
+            }), Map.of(
+                    UniqueConstraints.EMPLOYEES_CODE, () -> new AppException("Employee with code " + data.getEmployeeCode() + " already exists"),
+                    UniqueConstraints.EMPLOYEES_USER, () -> new AppException("Employee for this user already exists"),
+                    UniqueConstraints.EMPLOYMENTS_CODE, () -> new AppException("Employment with code " + data.getEmploymentCode() + " already exists")
+            ));
+            return true;
+        } catch (AppException e) {
+            progress.fail(row.line(), data.getEmployeeCode(), e.getMessage());
+        } catch (DataAccessException e) {
+            log.warn("Employee import row on line {} failed", row.line(), e);
+            progress.fail(row.line(), data.getEmployeeCode(), "Row could not be imported");
+        }
+        return false;
+    }
+
+    /**
+     * Bean validation, plus duplicates within the chunk. Duplicates of rows in earlier chunks are already in the
+     * database and are caught by the lookups.
+     */
+    private List<ImportRow> validate(List<ImportRow> chunk, ImportProgress progress) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        Set<String> employeeCodes = new HashSet<>();
+        Set<String> employmentCodes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : chunk) {
+            EmployeeImportRowDTO data = row.data();
+            Set<ConstraintViolation<EmployeeImportRowDTO>> violations = validator.validate(data);
+            if (!violations.isEmpty()) {
+                progress.fail(row.line(), data.getEmployeeCode(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .reduce((a, b) -> a + "; " + b)
+                        .orElse(""));
+            } else if (!employeeCodes.add(data.getEmployeeCode())) {
+                progress.fail(row.line(), data.getEmployeeCode(), "Duplicate employee code " + data.getEmployeeCode() + " in file");
+            } else if (!employmentCodes.add(data.getEmploymentCode())) {
+                progress.fail(row.line(), data.getEmployeeCode(), "Duplicate employment code " + data.getEmploymentCode() + " in file");
+            } else if (!emails.add(data.getUserEmail())) {
+                progress.fail(row.line(), data.getEmployeeCode(), "Duplicate user email " + data.getUserEmail() + " in file");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private static int[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("The file is empty");
+        }
+        // Spreadsheet exports often start with a byte order mark
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i).trim().toLowerCase(), i);
+        }
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            Integer position = positions.get(CSV_COLUMNS.get(i));
+            if (position == null) {
+                throw new BadRequestException("Missing column " + CSV_COLUMNS.get(i) + "; expected " + String.join(",", CSV_COLUMNS));
+            }
+            columns[i] = position;
+        }
+        return columns;
+    }
+
+    private static EmployeeImportRowDTO parseCsvRow(String text, int[] columns) {
+        List<String> fields = splitCsv(text);
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String value = columns[i] < fields.size() ? fields.get(columns[i]).trim() : "";
+            values[i] = value.isEmpty() ? null : value;
+        }
+        return EmployeeImportRowDTO.builder()
+                .employeeCode(values[0])
+                .userEmail(values[1])
+                .dateOfBirth(parse(CSV_COLUMNS.get(2), values[2], LocalDate::parse))
+                .employeeStatus(parse(CSV_COLUMNS.get(3), values[3], EEmployeeStatus::valueOf))
+                .employmentCode(values[4])
+                .department(values[5])
+                .position(values[6])
+                .baseSalary(parse(CSV_COLUMNS.get(7), values[7], BigDecimal::new))
+                .employmentStatus(parse(CSV_COLUMNS.get(8), values[8], EEmploymentStatus::valueOf))
+                .joiningDate(parse(CSV_COLUMNS.get(9), values[9], LocalDate::parse))
+                .build();
+    }
+
+    private EmployeeImportRowDTO parseJsonRow(String text) {
+        try {
+            return rowReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static <T> T parse(String column, String value, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV record, undoing the quoting written by the payslip export. Quoted fields may contain commas
+     * and doubled quotes, but not line breaks.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record ImportRow(long line, EmployeeImportRowDTO data) {
+    }
+
+    private final class ImportProgress {
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+        private int chunks;
+        private int failedChunks;
+
+        private void fail(long line, String employeeCode, String message) {
+            failed++;
+            // The error list is the only thing that grows with the file, so it is capped
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(line, employeeCode, message));
+            }
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.erp.services.impl;
 
+import com.erp.config.CacheConfig;
 import com.erp.exceptions.AppException;
 import com.erp.models.Employee;
 import com.erp.models.User;
 import com.erp.repositories.IEmployeeRepository;
+import com.erp.security.user.UserChangedEvent;
 import com.erp.services.IEmployeeService;
+import com.erp.utils.UniqueConstraints;
+import com.erp.utils.pagination.CursorRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -16,38 +24,31 @@ import java.util.UUID;
 public class EmployeeServiceImpl implements IEmployeeService {
 
     private final IEmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Employee createEmployee(Employee employee) {
-        // Check if employee with the same code already exists
-        if (employeeRepository.findByCode(employee.getCode()).isPresent()) {
-            throw new AppException("Employee with code " + employee.getCode() + " already exists");
-        }
-        
-        // Check if employee with the same user already exists
-        if (employeeRepository.findByUser(employee.getUser()).isPresent()) {
-            throw new AppException("Employee for this user already exists");
-        }
-        
-        return employeeRepository.save(employee);
+        Employee saved = UniqueConstraints.write(() -> employeeRepository.saveAndFlush(employee), Map.of(
+                UniqueConstraints.EMPLOYEES_CODE, () -> new AppException("Employee with code " + employee.getCode() + " already exists"),
+                UniqueConstraints.EMPLOYEES_USER, () -> new AppException("Employee for this user already exists")
+        ));
+        // The user's cached principal and employee id predate the employee record
+        eventPublisher.publishEvent(new UserChangedEvent(employee.getUser().getId(), employee.getUser().getEmail()));
+        return saved;
     }
 
     @Override
     public Employee updateEmployee(UUID id, Employee employee) {
         Employee existingEmployee = findEmployeeById(id);
-        
-        // If code is being changed, check if the new code is already in use
-        if (!existingEmployee.getCode().equals(employee.getCode()) && 
-            employeeRepository.findByCode(employee.getCode()).isPresent()) {
-            throw new AppException("Employee with code " + employee.getCode() + " already exists");
-        }
-        
+
         // Update fields
         existingEmployee.setCode(employee.getCode());
         existingEmployee.setDateOfBirth(employee.getDateOfBirth());
         existingEmployee.setStatus(employee.getStatus());
         
-        return employeeRepository.save(existingEmployee);
+        return UniqueConstraints.write(() -> employeeRepository.saveAndFlush(existingEmployee), Map.of(
+                UniqueConstraints.EMPLOYEES_CODE, () -> new AppException("Employee with code " + employee.getCode() + " already exists")
+        ));
     }
 
     @Override
@@ -56,6 +57,15 @@ public class EmployeeServiceImpl implements IEmployeeService {
                 .orElseThrow(() -> new AppException("Employee not found with id: " + id));
     }
 
+    /**
+     * An unloaded reference for finders that only filter by the employee, so an already authorized request does
+     * not select the employee first. It is not checked to exist; an unknown id simply matches nothing.
+     */
+    @Override
+    public Employee getEmployeeReference(UUID id) {
+        return employeeRepository.getReferenceById(id);
+    }
+
     @Override
     public Employee findEmployeeByCode(String code) {
         return employeeRepository.findByCode(code)
@@ -69,13 +79,22 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     @Override
-    public List<Employee> findAllEmployees() {
-        return employeeRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.USER_EMPLOYEES, key = "#userId")
+    public Optional<UUID> findEmployeeIdByUserId(UUID userId) {
+        return employeeRepository.findIdByUserId(userId);
+    }
+
+    @Override
+    public Window<Employee> findAllEmployees(CursorRequest request) {
+        return employeeRepository.findAllBy(request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
     public void deleteEmployee(UUID id) {
         Employee employee = findEmployeeById(id);
         employeeRepository.delete(employee);
+        if (employee.getUser() != null) {
+            eventPublisher.publishEvent(new UserChangedEvent(employee.getUser().getId(), employee.getUser().getEmail()));
+        }
     }
 }
\ No newline at end of file
@@ -6,10 +6,15 @@ import com.erp.models.Employee;
 import com.erp.models.Employment;
 import com.erp.repositories.IEmploymentRepository;
 import com.erp.services.IEmploymentService;
+import com.erp.utils.UniqueConstraints;
+import com.erp.utils.pagination.CursorRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -20,24 +25,15 @@ public class EmploymentServiceImpl implements IEmploymentService {
 
     @Override
     public Employment createEmployment(Employment employment) {
-        // Check if employment with the same code already exists
-        if (employmentRepository.findByCode(employment.getCode()).isPresent()) {
-            throw new AppException("Employment with code " + employment.getCode() + " already exists");
-        }
-        
-        return employmentRepository.save(employment);
+        return UniqueConstraints.write(() -> employmentRepository.saveAndFlush(employment), Map.of(
+                UniqueConstraints.EMPLOYMENTS_CODE, () -> new AppException("Employment with code " + employment.getCode() + " already exists")
+        ));
     }
 
     @Override
     public Employment updateEmployment(UUID id, Employment employment) {
         Employment existingEmployment = findEmploymentById(id);
-        
-        // If code is being changed, check if the new code is already in use
-        if (!existingEmployment.getCode().equals(employment.getCode()) && 
-            employmentRepository.findByCode(employment.getCode()).isPresent()) {
-            throw new AppException("Employment with code " + employment.getCode() + " already exists");
-        }
-        
+
         // Update fields
         existingEmployment.setCode(employment.getCode());
         existingEmployment.setDepartment(employment.getDepartment());
@@ -46,7 +42,9 @@ public class EmploymentServiceImpl implements IEmploymentService {
         existingEmployment.setStatus(employment.getStatus());
         existingEmployment.setJoiningDate(employment.getJoiningDate());
         
-        return employmentRepository.save(existingEmployment);
+        return UniqueConstraints.write(() -> employmentRepository.saveAndFlush(existingEmployment), Map.of(
+                UniqueConstraints.EMPLOYMENTS_CODE, () -> new AppException("Employment with code " + employment.getCode() + " already exists")
+        ));
     }
 
     @Override
@@ -78,8 +76,18 @@ public class EmploymentServiceImpl implements IEmploymentService {
     }
 
     @Override
-    public List<Employment> findAllEmployments() {
-        return employmentRepository.findAll();
+    public List<Employment> findAllActiveEmployments() {
+        return employmentRepository.findAllWithEmployeeByStatus(EEmploymentStatus.ACTIVE);
+    }
+
+    @Override
+    public List<Employment> findActiveEmploymentsByEmployeeIds(Collection<UUID> employeeIds) {
+        return employmentRepository.findByEmployeeIdInAndStatus(employeeIds, EEmploymentStatus.ACTIVE);
+    }
+
+    @Override
+    public Window<Employment> findAllEmployments(CursorRequest request) {
+        return employmentRepository.findAllBy(request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
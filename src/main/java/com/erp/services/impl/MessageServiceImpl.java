@@ -6,12 +6,19 @@ import com.erp.models.Employee;
 import com.erp.models.Message;
 import com.erp.models.Payslip;
 import com.erp.repositories.IMessageRepository;
+import com.erp.repositories.MessageBatchRepository;
+import com.erp.repositories.projections.ApprovedPayslip;
+import com.erp.repositories.projections.OutboxEmail;
 import com.erp.services.IMessageService;
-import com.erp.standalone.EmailService;
+import com.erp.standalone.EmailOutbox;
+import com.erp.utils.pagination.CursorRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +29,8 @@ import java.util.UUID;
 public class MessageServiceImpl implements IMessageService {
 
     private final IMessageRepository messageRepository;
-    private final EmailService emailService;
+    private final MessageBatchRepository messageBatchRepository;
+    private final EmailOutbox emailOutbox;
 
     @Override
     public Message createMessage(Message message) {
@@ -35,50 +43,60 @@ public class MessageServiceImpl implements IMessageService {
         Employee employee = payslip.getEmployee();
         String monthYear = payslip.getMonth() + "/" + payslip.getYear();
 
-        // Create message content
-        String messageContent = String.format(
-                "Dear %s,\nYour salary for %s from Government of Rwanda amounting to %s has been credited to your account %s successfully.",
-                employee.getUser().getFirstName(),
-                monthYear,
-                payslip.getNetSalary().toString(),
-                employee.getCode()
-        );
-
         // Create and save message
         Message message = Message.builder()
                 .employee(employee)
-                .message(messageContent)
+                .message(approvalMessageContent(employee.getUser().getFirstName(), monthYear, payslip.getNetSalary(), employee.getCode()))
                 .monthYear(monthYear)
                 .sentAt(LocalDateTime.now())
                 .build();
 
         Message savedMessage = messageRepository.save(message);
 
-        // Send email notification
-        try {
-            Map<String, Object> variables = new HashMap<>();
-            variables.put("firstName", employee.getUser().getFirstName());
-            variables.put("monthYear", monthYear);
-            variables.put("amount", payslip.getNetSalary().toString());
-            variables.put("employeeId", employee.getCode());
-            variables.put("payslipId", payslip.getId().toString());
-            variables.put("baseUrl", "http://localhost:8000/api/v1");
-
-            emailService.sendEmail(
-                    employee.getUser().getEmail(),
-                    employee.getUser().getFirstName(),
-                    "Salary Payment Notification",
-                    IEmailTemplate.SALARY_PAYMENT,
-                    variables
-            );
-        } catch (Exception e) {
-            // Log error but don't fail the operation
-            System.err.println("Failed to send email notification: " + e.getMessage());
-        }
+        // Queued in this transaction and sent in the background once it commits
+        emailOutbox.enqueue(
+                employee.getUser().getEmail(),
+                employee.getUser().getFirstName(),
+                "Salary Payment Notification",
+                IEmailTemplate.SALARY_PAYMENT,
+                approvalEmailVariables(employee.getUser().getFirstName(), monthYear, payslip.getNetSalary(), employee.getCode(), payslip.getId())
+        );
 
         return savedMessage;
     }
 
+    @Override
+    public void createPayslipApprovalMessages(List<ApprovedPayslip> approvedPayslips) {
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<Message> messages = new ArrayList<>(approvedPayslips.size());
+        for (ApprovedPayslip approved : approvedPayslips) {
+            String monthYear = approved.month() + "/" + approved.year();
+            messages.add(Message.builder()
+                    .employee(Employee.builder().id(approved.employeeId()).build())
+                    .message(approvalMessageContent(approved.firstName(), monthYear, approved.netSalary(), approved.employeeCode()))
+                    .monthYear(monthYear)
+                    .sentAt(sentAt)
+                    .build());
+        }
+        messageBatchRepository.insertAll(messages);
+
+        // The emails are part of the approval transaction, so a rollback never leaves employees with a false email
+        List<OutboxEmail> emails = new ArrayList<>(approvedPayslips.size());
+        for (ApprovedPayslip approved : approvedPayslips) {
+            if (approved.email() != null) {
+                emails.add(OutboxEmail.of(
+                        approved.email(),
+                        approved.firstName(),
+                        "Salary Payment Notification",
+                        IEmailTemplate.SALARY_PAYMENT,
+                        approvalEmailVariables(approved.firstName(), approved.month() + "/" + approved.year(),
+                                approved.netSalary(), approved.employeeCode(), approved.payslipId())
+                ));
+            }
+        }
+        emailOutbox.enqueueAll(emails);
+    }
+
     @Override
     public Message findMessageById(UUID id) {
         return messageRepository.findById(id)
@@ -96,7 +114,29 @@ public class MessageServiceImpl implements IMessageService {
     }
 
     @Override
-    public List<Message> findAllMessages() {
-        return messageRepository.findAll();
+    public Window<Message> findAllMessages(CursorRequest request) {
+        return messageRepository.findAllBy(request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
+    }
+
+    private String approvalMessageContent(String firstName, String monthYear, BigDecimal netSalary, String employeeCode) {
+        return String.format(
+                "Dear %s,\nYour salary for %s from Government of Rwanda amounting to %s has been credited to your account %s successfully.",
+                firstName,
+                monthYear,
+                netSalary.toString(),
+                employeeCode
+        );
+    }
+
+    private Map<String, Object> approvalEmailVariables(String firstName, String monthYear, BigDecimal netSalary,
+                                                       String employeeCode, UUID payslipId) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("firstName", firstName);
+        variables.put("monthYear", monthYear);
+        variables.put("amount", netSalary.toString());
+        variables.put("employeeId", employeeCode);
+        variables.put("payslipId", payslipId.toString());
+        variables.put("baseUrl", "http://localhost:8000/api/v1");
+        return variables;
     }
 }
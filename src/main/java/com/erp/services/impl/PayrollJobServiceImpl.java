@@ -0,0 +1,271 @@
+package com.erp.services.impl;
+
+import com.erp.dtos.response.payroll.PayrollJobResponseDTO;
+import com.erp.dtos.response.payslip.PayrollChunkReport;
+import com.erp.enums.EPayrollJobStatus;
+import com.erp.enums.EPayrollJobType;
+import com.erp.exceptions.BadRequestException;
+import com.erp.exceptions.ConflictException;
+import com.erp.exceptions.NotFoundException;
+import com.erp.exceptions.TooManyRequestsException;
+import com.erp.models.Payslip;
+import com.erp.repositories.IPayslipRepository;
+import com.erp.services.IPayrollJobService;
+import com.erp.services.IPayrollService;
+import com.erp.services.PayrollRunListener;
+import com.erp.utils.pagination.CursorRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs month-wide payroll operations off the request thread and keeps their progress in memory.
+ * Finished jobs are forgotten after {@code application.payroll.jobs.retention}.
+ */
+@Slf4j
+@Service
+public class PayrollJobServiceImpl implements IPayrollJobService {
+
+    private final IPayrollService payrollService;
+    private final IPayslipRepository payslipRepository;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<UUID, PayrollJob> jobs = new ConcurrentHashMap<>();
+
+    public PayrollJobServiceImpl(IPayrollService payrollService,
+                                 IPayslipRepository payslipRepository,
+                                 @Value("${application.payroll.jobs.concurrency:2}") int concurrency,
+                                 @Value("${application.payroll.jobs.queue-capacity:10}") int queueCapacity,
+                                 @Value("${application.payroll.jobs.retention:PT24H}") Duration retention) {
+        this.payrollService = payrollService;
+        this.payslipRepository = payslipRepository;
+        this.retention = retention;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "payroll-job-" + threadCount.incrementAndGet()));
+    }
+
+    @Override
+    public PayrollJobResponseDTO submitGenerateJob(Integer month, Integer year) {
+        PayrollJob job = submit(EPayrollJobType.GENERATE, month, year, current -> {
+            payrollService.generatePayrollForMonthPartitioned(month, year, new PayrollRunListener() {
+                @Override
+                public void onStart(int totalEmployees, int totalChunks) {
+                    current.total.set(totalEmployees);
+                }
+
+                @Override
+                public void onChunkCompleted(PayrollChunkReport chunkReport) {
+                    current.processed.addAndGet(chunkReport.getEmployees());
+                    current.failed.addAndGet(chunkReport.getFailed());
+                }
+
+                @Override
+                public void onPayslipsCommitted(List<UUID> payslipIds) {
+                    current.producedIds.addAll(payslipIds);
+                }
+            });
+        });
+        return toResponseDTO(job);
+    }
+
+    @Override
+    public PayrollJobResponseDTO submitApproveJob(Integer month, Integer year) {
+        PayrollJob job = submit(EPayrollJobType.APPROVE, month, year, current -> {
+            // Payslips approved elsewhere during the run are neither processed nor failed here
+            payrollService.bulkApprovePayrollForMonth(month, year, new PayrollRunListener() {
+                @Override
+                public void onStart(int totalEmployees, int totalChunks) {
+                    current.total.set(totalEmployees);
+                }
+
+                @Override
+                public void onPayslipsCommitted(List<UUID> payslipIds) {
+                    current.processed.addAndGet(payslipIds.size());
+                    current.producedIds.addAll(payslipIds);
+                }
+            });
+        });
+        return toResponseDTO(job);
+    }
+
+    @Override
+    public PayrollJobResponseDTO getJob(UUID jobId) {
+        return toResponseDTO(findJob(jobId));
+    }
+
+    /**
+     * Pages over the payslips the job itself generated or approved, in id order. The ids are recorded as the job's
+     * chunks commit, so payslips from other runs or approvals of the same month are never included.
+     */
+    @Override
+    public Window<Payslip> getJobResults(UUID jobId, CursorRequest request) {
+        PayrollJob job = findJob(jobId);
+        UUID[] ids = job.resultIds;
+        if (ids == null) {
+            throw new ConflictException("Payroll job " + jobId + " has not finished yet");
+        }
+
+        int from = 0;
+        if (request.position() instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            if (!(keyset.getKeys().get("id") instanceof UUID after)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            int index = Arrays.binarySearch(ids, after);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = Math.min(ids.length, from + request.limit().max());
+
+        Map<UUID, Payslip> byId = new HashMap<>();
+        for (Payslip payslip : payslipRepository.findAllById(Arrays.asList(ids).subList(from, to))) {
+            byId.put(payslip.getId(), payslip);
+        }
+        // Payslips deleted since the job ran are left out
+        List<Payslip> payslips = Arrays.stream(ids, from, to)
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return Window.from(payslips, index -> ScrollPosition.forward(Map.of("id", payslips.get(index).getId())), to < ids.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private PayrollJob submit(EPayrollJobType type, Integer month, Integer year, JobBody body) {
+        evictExpiredJobs();
+
+        PayrollJob job = new PayrollJob(UUID.randomUUID(), type, month, year);
+        jobs.put(job.id, job);
+
+        Runnable task = () -> {
+            job.startedAt = LocalDateTime.now();
+            job.status = EPayrollJobStatus.RUNNING;
+            try {
+                body.run(job);
+                job.status = EPayrollJobStatus.COMPLETED;
+            } catch (Exception e) {
+                log.error("Payroll job {} ({} {}/{}) failed", job.id, type, month, year, e);
+                job.error = e.getMessage();
+                job.status = EPayrollJobStatus.FAILED;
+            } finally {
+                UUID[] resultIds = job.producedIds.toArray(UUID[]::new);
+                Arrays.sort(resultIds);
+                job.producedIds.clear();
+                job.resultIds = resultIds;
+                job.finishedAt = LocalDateTime.now();
+            }
+        };
+
+        try {
+            // Carry the caller's authentication so audit columns record who started the job
+            executor.execute(new DelegatingSecurityContextRunnable(task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new TooManyRequestsException("Too many payroll jobs are queued, please try again later", e);
+        }
+        return job;
+    }
+
+    private PayrollJob findJob(UUID jobId) {
+        PayrollJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Payroll job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private PayrollJobResponseDTO toResponseDTO(PayrollJob job) {
+        int total = job.total.get();
+        int processed = job.processed.get();
+
+        double throughput = 0;
+        Long etaSeconds = null;
+        if (job.startedAt != null) {
+            LocalDateTime end = job.finishedAt != null ? job.finishedAt : LocalDateTime.now();
+            long elapsedMillis = Math.max(1, Duration.between(job.startedAt, end).toMillis());
+            throughput = processed * 1000.0 / elapsedMillis;
+            if (job.finishedAt != null) {
+                etaSeconds = 0L;
+            } else if (throughput > 0) {
+                etaSeconds = (long) Math.ceil(Math.max(0, total - processed) / throughput);
+            }
+        }
+
+        return PayrollJobResponseDTO.builder()
+                .id(job.id)
+                .type(job.type)
+                .status(job.status)
+                .month(job.month)
+                .year(job.year)
+                .total(total)
+                .processed(processed)
+                .failed(job.failed.get())
+                .throughputPerSecond(throughput)
+                .etaSeconds(etaSeconds)
+                .error(job.error)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface JobBody {
+        void run(PayrollJob job);
+    }
+
+    private static final class PayrollJob {
+        private final UUID id;
+        private final EPayrollJobType type;
+        private final Integer month;
+        private final Integer year;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Queue<UUID> producedIds = new ConcurrentLinkedQueue<>();
+        // Sorted once the job has finished, so results can be paged by id
+        private volatile UUID[] resultIds;
+        private volatile EPayrollJobStatus status = EPayrollJobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private PayrollJob(UUID id, EPayrollJobType type, Integer month, Integer year) {
+            this.id = id;
+            this.type = type;
+            this.month = month;
+            this.year = year;
+        }
+    }
+}
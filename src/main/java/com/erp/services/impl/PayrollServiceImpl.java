@@ -1,36 +1,77 @@
 package com.erp.services.impl;
 
+import com.erp.dtos.response.payslip.PayrollChunkReport;
+import com.erp.dtos.response.payslip.PayrollPeriodSummaryDTO;
+import com.erp.dtos.response.payslip.PayrollRecomputeReport;
+import com.erp.dtos.response.payslip.PayrollRunReport;
+import com.erp.enums.EPayrollSummaryGrouping;
 import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERecomputeMode;
 import com.erp.exceptions.AppException;
-import com.erp.models.Deduction;
+import com.erp.mapper.PayrollTotalsMapper;
 import com.erp.models.Employee;
 import com.erp.models.Employment;
 import com.erp.models.Payslip;
 import com.erp.repositories.IPayslipRepository;
+import com.erp.repositories.PayrollPeriodTotalsRepository;
+import com.erp.repositories.PayslipBatchRepository;
+import com.erp.repositories.projections.ApprovedPayslip;
+import com.erp.repositories.projections.PeriodTotals;
 import com.erp.services.IDeductionService;
 import com.erp.services.IEmployeeService;
 import com.erp.services.IEmploymentService;
 import com.erp.services.IMessageService;
 import com.erp.services.IPayrollService;
+import com.erp.services.PayrollRunListener;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayslipCalculator;
+import com.erp.utils.pagination.CursorRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PayrollServiceImpl implements IPayrollService {
 
     private final IPayslipRepository payslipRepository;
+    private final PayslipBatchRepository payslipBatchRepository;
+    private final PayrollPeriodTotalsRepository periodTotalsRepository;
     private final IEmployeeService employeeService;
     private final IEmploymentService employmentService;
     private final IDeductionService deductionService;
     private final IMessageService messageService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${application.payroll.parallelism:4}")
+    private int parallelism;
+
+    @Value("${application.payroll.chunk-size:1000}")
+    private int chunkSize;
 
     @Override
     @Transactional
@@ -43,91 +84,263 @@ public class PayrollServiceImpl implements IPayrollService {
         // Get active employment for the employee
         Employment employment = employmentService.findActiveEmploymentByEmployee(employee);
         
-        // Get all deductions
-        List<Deduction> deductions = deductionService.findAllDeductions();
-        
-        // Calculate housing and transport allowances (14% of base salary each)
-        BigDecimal housingPercentage = findDeductionPercentage(deductions, "Housing");
-        BigDecimal transportPercentage = findDeductionPercentage(deductions, "Transport");
-        
-        BigDecimal housingAmount = calculatePercentage(employment.getBaseSalary(), housingPercentage);
-        BigDecimal transportAmount = calculatePercentage(employment.getBaseSalary(), transportPercentage);
-        
-        // Calculate gross salary
-        BigDecimal grossSalary = employment.getBaseSalary().add(housingAmount).add(transportAmount);
-        
-        // Calculate deductions
-        BigDecimal employeeTaxPercentage = findDeductionPercentage(deductions, "Employee Tax");
-        BigDecimal pensionPercentage = findDeductionPercentage(deductions, "Pension");
-        BigDecimal medicalInsurancePercentage = findDeductionPercentage(deductions, "Medical Insurance");
-        BigDecimal otherDeductionsPercentage = findDeductionPercentage(deductions, "Others");
-        
-        BigDecimal employeeTaxAmount = calculatePercentage(employment.getBaseSalary(), employeeTaxPercentage);
-        BigDecimal pensionAmount = calculatePercentage(employment.getBaseSalary(), pensionPercentage);
-        BigDecimal medicalInsuranceAmount = calculatePercentage(employment.getBaseSalary(), medicalInsurancePercentage);
-        BigDecimal otherDeductions = calculatePercentage(employment.getBaseSalary(), otherDeductionsPercentage);
+        // Compiled deduction rates are cached, so this does not hit the database
+        DeductionRuleSet rules = deductionService.getRuleSet();
         
-        // Calculate total deductions
-        BigDecimal totalDeductions = employeeTaxAmount.add(pensionAmount).add(medicalInsuranceAmount).add(otherDeductions);
-        
-        // Ensure deductions don't exceed gross salary
-        if (totalDeductions.compareTo(grossSalary) > 0) {
-            throw new AppException("Total deductions exceed gross salary for employee " + employee.getCode());
+        Payslip payslip = PayslipCalculator.calculate(employee, employment, rules, month, year);
+        // Flushed first, because the period totals are summed from the stored row
+        Payslip saved = payslipRepository.saveAndFlush(payslip);
+        periodTotalsRepository.add(List.of(saved.getId()), EPayslipStatus.PENDING);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Payslip> generatePayrollForMonth(Integer month, Integer year) {
+        // Prefetch everything the run needs up front instead of querying per employee
+        Set<UUID> employeesWithPayslip = payslipRepository.findEmployeeIdsByMonthAndYear(month, year);
+        DeductionRuleSet rules = deductionService.getRuleSet();
+        Collection<Employment> employments = latestActiveEmployments();
+
+        List<Payslip> payslips = computePayslips(employments, employeesWithPayslip, rules, month, year).payslips();
+        insertPayslips(payslips);
+        return payslips;
+    }
+
+    @Override
+    public PayrollRunReport generatePayrollForMonthPartitioned(Integer month, Integer year) {
+        return generatePayrollForMonthPartitioned(month, year, PayrollRunListener.NONE);
+    }
+
+    @Override
+    public PayrollRunReport generatePayrollForMonthPartitioned(Integer month, Integer year, PayrollRunListener listener) {
+        long startedAt = System.currentTimeMillis();
+
+        TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        PayrollRunInput input = readTemplate.execute(status -> new PayrollRunInput(
+                payslipRepository.findEmployeeIdsByMonthAndYear(month, year),
+                deductionService.getRuleSet(),
+                latestActiveEmployments()
+        ));
+
+        Map<String, List<Employment>> partitions = partitionByDepartment(input.employments());
+        listener.onStart(input.employments().size(), partitions.size());
+
+        // Every chunk commits on its own so a failing chunk only rolls back itself
+        TransactionTemplate chunkTemplate = new TransactionTemplate(transactionManager);
+        chunkTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<Future<PayrollChunkReport>> futures = new ArrayList<>(partitions.size());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("payroll-chunk-", 0).factory());
+        try (ExecutorService executor = new DelegatingSecurityContextExecutorService(workers)) {
+            partitions.forEach((chunk, employments) -> futures.add(executor.submit(() ->
+                    runChunk(chunk, employments, input, month, year, chunkTemplate, listener))));
         }
-        
-        // Calculate net salary
-        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
-        
-        // Create and save payslip
-        Payslip payslip = Payslip.builder()
-                .employee(employee)
-                .housingAmount(housingAmount)
-                .transportAmount(transportAmount)
-                .employeeTaxAmount(employeeTaxAmount)
-                .pensionAmount(pensionAmount)
-                .medicalInsuranceAmount(medicalInsuranceAmount)
-                .otherDeductions(otherDeductions)
-                .grossSalary(grossSalary)
-                .netSalary(netSalary)
+
+        List<PayrollChunkReport> chunks = new ArrayList<>(futures.size());
+        for (Future<PayrollChunkReport> future : futures) {
+            try {
+                chunks.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AppException("Payroll run for " + month + "/" + year + " was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new AppException("Payroll run for " + month + "/" + year + " failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        return PayrollRunReport.builder()
                 .month(month)
                 .year(year)
-                .status(EPayslipStatus.PENDING)
+                .totalEmployees(input.employments().size())
+                .generated(chunks.stream().mapToInt(PayrollChunkReport::getGenerated).sum())
+                .skipped(chunks.stream().mapToInt(PayrollChunkReport::getSkipped).sum())
+                .failed(chunks.stream().mapToInt(PayrollChunkReport::getFailed).sum())
+                .failedChunks((int) chunks.stream().filter(chunk -> !chunk.isCommitted()).count())
+                .durationMillis(System.currentTimeMillis() - startedAt)
+                .chunks(chunks)
                 .build();
-        
-        return payslipRepository.save(payslip);
     }
 
+    private PayrollChunkReport runChunk(String chunk, List<Employment> employments, PayrollRunInput input,
+                                        Integer month, Integer year, TransactionTemplate chunkTemplate,
+                                        PayrollRunListener listener) {
+        long startedAt = System.currentTimeMillis();
+        PayrollChunkReport.PayrollChunkReportBuilder report = PayrollChunkReport.builder()
+                .chunk(chunk)
+                .employees(employments.size());
+
+        try {
+            PayslipComputation computation = chunkTemplate.execute(status -> {
+                PayslipComputation result = computePayslips(employments, input.employeesWithPayslip(), input.rules(), month, year);
+                insertPayslips(result.payslips());
+                return result;
+            });
+            listener.onPayslipsCommitted(computation.payslips().stream().map(Payslip::getId).toList());
+            report.generated(computation.payslips().size())
+                    .skipped(computation.skipped())
+                    .failed(computation.failed())
+                    .committed(true);
+        } catch (Exception e) {
+            log.warn("Payroll chunk {} for {}/{} rolled back", chunk, month, year, e);
+            report.failed(employments.size())
+                    .committed(false)
+                    .error(e.getMessage());
+        }
+
+        PayrollChunkReport chunkReport = report.durationMillis(System.currentTimeMillis() - startedAt).build();
+        listener.onChunkCompleted(chunkReport);
+        return chunkReport;
+    }
+
+    private void insertPayslips(List<Payslip> payslips) {
+        payslipBatchRepository.insertAll(payslips);
+        periodTotalsRepository.add(payslips.stream().map(Payslip::getId).toList(), EPayslipStatus.PENDING);
+    }
+
+    private Map<String, List<Employment>> partitionByDepartment(Collection<Employment> employments) {
+        Map<String, List<Employment>> byDepartment = new LinkedHashMap<>();
+        for (Employment employment : employments) {
+            String department = employment.getDepartment() == null ? PayslipCalculator.UNASSIGNED_DEPARTMENT : employment.getDepartment();
+            byDepartment.computeIfAbsent(department, key -> new ArrayList<>()).add(employment);
+        }
+
+        // Large departments are split further so chunks stay small enough to commit quickly
+        Map<String, List<Employment>> partitions = new LinkedHashMap<>();
+        byDepartment.forEach((department, members) -> {
+            for (int from = 0, part = 1; from < members.size(); from += chunkSize, part++) {
+                partitions.put(department + "#" + part, members.subList(from, Math.min(from + chunkSize, members.size())));
+            }
+        });
+        return partitions;
+    }
+
+    private Collection<Employment> latestActiveEmployments() {
+        // Active employments come ordered by joining date, so the first one seen is the latest
+        Map<UUID, Employment> activeEmployments = new LinkedHashMap<>();
+        for (Employment employment : employmentService.findAllActiveEmployments()) {
+            activeEmployments.putIfAbsent(employment.getEmployee().getId(), employment);
+        }
+        return activeEmployments.values();
+    }
+
+    private PayslipComputation computePayslips(Collection<Employment> employments, Set<UUID> employeesWithPayslip,
+                                               DeductionRuleSet rules, Integer month, Integer year) {
+        List<Payslip> payslips = new ArrayList<>(employments.size());
+        int skipped = 0;
+        int failed = 0;
+        for (Employment employment : employments) {
+            Employee employee = employment.getEmployee();
+
+            // Skip if payslip already exists for this employee and month/year
+            if (employeesWithPayslip.contains(employee.getId())) {
+                skipped++;
+                continue;
+            }
+
+            try {
+                payslips.add(PayslipCalculator.calculate(employee, employment, rules, month, year));
+            } catch (Exception e) {
+                // Log error but continue with next employee
+                failed++;
+                log.warn("Error generating payslip for employee {}", employee.getCode(), e);
+            }
+        }
+        return new PayslipComputation(payslips, skipped, failed);
+    }
+
+    /**
+     * Recomputes the pending payslips of a period that are older than a change to their employee's employments or
+     * to the deductions. In delta mode only employments changed since the oldest pending payslip are looked at,
+     * so correcting one salary touches one payslip. Full mode recomputes every pending payslip, which is needed
+     * after a deduction or employment was deleted, since deletions leave no modification date behind.
+     */
     @Override
     @Transactional
-    public List<Payslip> generatePayrollForMonth(Integer month, Integer year) {
-        List<Payslip> payslips = new ArrayList<>();
-        
-        // Get all active employees
-        List<Employee> employees = employeeService.findAllEmployees();
-        
-        for (Employee employee : employees) {
+    public PayrollRecomputeReport recomputePendingPayslips(Integer month, Integer year, ERecomputeMode mode) {
+        long startedAt = System.currentTimeMillis();
+        // Stamped on the recomputed payslips; anything changed while this runs is newer and found by the next run
+        LocalDateTime computedAt = LocalDateTime.now();
+        DeductionRuleSet rules = deductionService.getRuleSet();
+
+        Set<UUID> staleIds = new LinkedHashSet<>();
+        if (mode == ERecomputeMode.FULL) {
+            staleIds.addAll(payslipBatchRepository.findPendingComputedBefore(month, year, computedAt));
+        } else {
+            payslipBatchRepository.findOldestPendingComputedAt(month, year).ifPresent(oldest -> {
+                deductionService.findLastModifiedAt()
+                        .filter(changedAt -> changedAt.isAfter(oldest))
+                        .ifPresent(changedAt -> staleIds.addAll(payslipBatchRepository.findPendingComputedBefore(month, year, changedAt)));
+                staleIds.addAll(payslipBatchRepository.findPendingWithEmploymentChangedSince(month, year, oldest));
+            });
+        }
+
+        List<Payslip> payslips = payslipRepository.findAllById(payslipBatchRepository.lockPending(staleIds));
+        Map<UUID, Employment> employments = new LinkedHashMap<>();
+        List<UUID> employeeIds = payslips.stream().map(payslip -> payslip.getEmployee().getId()).toList();
+        // Active employments come ordered by joining date, so the first one seen is the latest
+        for (Employment employment : employmentService.findActiveEmploymentsByEmployeeIds(employeeIds)) {
+            employments.putIfAbsent(employment.getEmployee().getId(), employment);
+        }
+
+        List<Payslip> recomputed = new ArrayList<>(payslips.size());
+        int changed = 0;
+        int failed = 0;
+        for (Payslip payslip : payslips) {
+            Employee employee = payslip.getEmployee();
+            Employment employment = employments.get(employee.getId());
+            if (employment == null) {
+                failed++;
+                log.warn("Cannot recompute payslip {}: no active employment for employee {}", payslip.getId(), employee.getCode());
+                continue;
+            }
+
             try {
-                // Skip if payslip already exists for this employee and month/year
-                if (existsPayslipByEmployeeAndMonthAndYear(employee, month, year)) {
-                    continue;
+                Payslip fresh = PayslipCalculator.calculate(employee, employment, rules, month, year);
+                fresh.setId(payslip.getId());
+                if (!sameAmounts(payslip, fresh)) {
+                    changed++;
                 }
-                
-                // Skip if employee doesn't have an active employment
-                try {
-                    employmentService.findActiveEmploymentByEmployee(employee);
-                } catch (AppException e) {
-                    continue;
-                }
-                
-                Payslip payslip = generatePayslip(employee, month, year);
-                payslips.add(payslip);
+                recomputed.add(fresh);
             } catch (Exception e) {
-                // Log error but continue with next employee
-                System.err.println("Error generating payslip for employee " + employee.getCode() + ": " + e.getMessage());
+                failed++;
+                log.warn("Error recomputing payslip {} for employee {}", payslip.getId(), employee.getCode(), e);
             }
         }
-        
-        return payslips;
+
+        // Unchanged payslips are written too, so their new timestamp keeps them out of the next delta run
+        List<UUID> recomputedIds = recomputed.stream().map(Payslip::getId).toList();
+        periodTotalsRepository.subtract(recomputedIds, EPayslipStatus.PENDING);
+        payslipBatchRepository.updateAmounts(recomputed, computedAt);
+        periodTotalsRepository.add(recomputedIds, EPayslipStatus.PENDING);
+
+        return PayrollRecomputeReport.builder()
+                .month(month)
+                .year(year)
+                .mode(mode)
+                .stale(payslips.size())
+                .recomputed(recomputed.size())
+                .changed(changed)
+                .failed(failed)
+                .durationMillis(System.currentTimeMillis() - startedAt)
+                .build();
+    }
+
+    private static boolean sameAmounts(Payslip current, Payslip recomputed) {
+        return Objects.equals(current.getDepartment(), recomputed.getDepartment())
+                && sameAmount(current.getGrossSalary(), recomputed.getGrossSalary())
+                && sameAmount(current.getNetSalary(), recomputed.getNetSalary())
+                && sameAmount(current.getEmployeeTaxAmount(), recomputed.getEmployeeTaxAmount())
+                && sameAmount(current.getPensionAmount(), recomputed.getPensionAmount())
+                && sameAmount(current.getMedicalInsuranceAmount(), recomputed.getMedicalInsuranceAmount())
+                && sameAmount(current.getHousingAmount(), recomputed.getHousingAmount())
+                && sameAmount(current.getTransportAmount(), recomputed.getTransportAmount())
+                && sameAmount(current.getOtherDeductions(), recomputed.getOtherDeductions());
+    }
+
+    private static boolean sameAmount(BigDecimal current, BigDecimal recomputed) {
+        return current == null ? recomputed == null : recomputed != null && current.compareTo(recomputed) == 0;
     }
 
     @Override
@@ -139,8 +352,10 @@ public class PayrollServiceImpl implements IPayrollService {
             throw new AppException("Payslip is already approved");
         }
         
+        EPayslipStatus previousStatus = payslip.getStatus();
         payslip.setStatus(EPayslipStatus.PAID);
         Payslip approvedPayslip = payslipRepository.save(payslip);
+        periodTotalsRepository.move(List.of(approvedPayslip.getId()), previousStatus, EPayslipStatus.PAID);
         
         // Create message for the employee
         messageService.createPayslipApprovalMessage(approvedPayslip);
@@ -151,20 +366,48 @@ public class PayrollServiceImpl implements IPayrollService {
     @Override
     @Transactional
     public List<Payslip> approvePayrollForMonth(Integer month, Integer year) {
-        List<Payslip> payslips = findPayslipsByMonthAndYearAndStatus(month, year, EPayslipStatus.PENDING);
-        List<Payslip> approvedPayslips = new ArrayList<>();
-        
-        for (Payslip payslip : payslips) {
-            try {
-                Payslip approvedPayslip = approvePayslip(payslip.getId());
-                approvedPayslips.add(approvedPayslip);
-            } catch (Exception e) {
-                // Log error but continue with next payslip
-                System.err.println("Error approving payslip " + payslip.getId() + ": " + e.getMessage());
+        List<UUID> approvedIds = bulkApprovePayrollForMonth(month, year);
+        return payslipRepository.findAllById(approvedIds);
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> bulkApprovePayrollForMonth(Integer month, Integer year) {
+        // One guarded UPDATE flips every pending payslip of the period, then messages go out in a batch
+        return recordApproval(payslipBatchRepository.approvePending(month, year));
+    }
+
+    /**
+     * Approves the period in batches of {@code application.payroll.chunk-size}, each in its own transaction, and
+     * reports every committed batch to {@code listener}. A failing batch stops the run; earlier batches stay approved.
+     */
+    @Override
+    public int bulkApprovePayrollForMonth(Integer month, Integer year, PayrollRunListener listener) {
+        int pending = (int) payslipRepository.countByMonthAndYearAndStatus(month, year, EPayslipStatus.PENDING);
+        listener.onStart(pending, (pending + chunkSize - 1) / chunkSize);
+
+        TransactionTemplate batchTemplate = new TransactionTemplate(transactionManager);
+        batchTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int approved = 0;
+        List<UUID> batch;
+        do {
+            batch = batchTemplate.execute(status ->
+                    recordApproval(payslipBatchRepository.approvePendingBatch(month, year, chunkSize)));
+            if (!batch.isEmpty()) {
+                approved += batch.size();
+                listener.onPayslipsCommitted(batch);
             }
-        }
-        
-        return approvedPayslips;
+        } while (!batch.isEmpty());
+        return approved;
+    }
+
+    private List<UUID> recordApproval(List<ApprovedPayslip> approvedPayslips) {
+        List<UUID> approvedIds = approvedPayslips.stream()
+                .map(ApprovedPayslip::payslipId)
+                .toList();
+        periodTotalsRepository.move(approvedIds, EPayslipStatus.PENDING, EPayslipStatus.PAID);
+        messageService.createPayslipApprovalMessages(approvedPayslips);
+        return approvedIds;
     }
 
     @Override
@@ -174,34 +417,34 @@ public class PayrollServiceImpl implements IPayrollService {
     }
 
     @Override
-    public List<Payslip> findPayslipsByEmployee(Employee employee) {
-        return payslipRepository.findByEmployee(employee);
+    public Window<Payslip> findPayslipsByEmployee(Employee employee, CursorRequest request) {
+        return payslipRepository.findByEmployee(employee, request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
-    public List<Payslip> findPayslipsByEmployeeAndStatus(Employee employee, EPayslipStatus status) {
-        return payslipRepository.findByEmployeeAndStatus(employee, status);
+    public Window<Payslip> findPayslipsByEmployeeAndStatus(Employee employee, EPayslipStatus status, CursorRequest request) {
+        return payslipRepository.findByEmployeeAndStatus(employee, status, request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
-    public List<Payslip> findPayslipsByStatus(EPayslipStatus status) {
-        return payslipRepository.findByStatus(status);
+    public Window<Payslip> findPayslipsByStatus(EPayslipStatus status, CursorRequest request) {
+        return payslipRepository.findByStatus(status, request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
-    public List<Payslip> findPayslipsByMonthAndYear(Integer month, Integer year) {
-        return payslipRepository.findByMonthAndYear(month, year);
+    public Window<Payslip> findPayslipsByMonthAndYear(Integer month, Integer year, CursorRequest request) {
+        return payslipRepository.findByMonthAndYear(month, year, request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
-    public List<Payslip> findPayslipsByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status) {
-        return payslipRepository.findByMonthAndYearAndStatus(month, year, status);
+    public Window<Payslip> findPayslipsByMonthAndYearAndStatus(Integer month, Integer year, EPayslipStatus status, CursorRequest request) {
+        return payslipRepository.findByMonthAndYearAndStatus(month, year, status, request.position(), request.limit(), CursorRequest.BY_CREATED_DATE);
     }
 
     @Override
     public Payslip findPayslipByEmployeeAndMonthAndYear(Employee employee, Integer month, Integer year) {
         return payslipRepository.findByEmployeeAndMonthAndYear(employee, month, year)
-                .orElseThrow(() -> new AppException("Payslip not found for employee " + employee.getCode() + " for " + month + "/" + year));
+                .orElseThrow(() -> new AppException("Payslip not found for employee " + employee.getId() + " for " + month + "/" + year));
     }
 
     @Override
@@ -209,16 +452,39 @@ public class PayrollServiceImpl implements IPayrollService {
         return payslipRepository.existsByEmployeeAndMonthAndYear(employee, month, year);
     }
     
-    private BigDecimal findDeductionPercentage(List<Deduction> deductions, String deductionName) {
-        return deductions.stream()
-                .filter(d -> d.getName().equalsIgnoreCase(deductionName))
-                .findFirst()
-                .map(Deduction::getPercentage)
-                .orElse(BigDecimal.ZERO);
+    /**
+     * Reads the maintained period totals, one row per department and status, and rolls them up to the requested
+     * grouping. The cost depends on the number of departments, not on the number of payslips.
+     */
+    @Override
+    public PayrollPeriodSummaryDTO getPeriodSummary(Integer month, Integer year, EPayrollSummaryGrouping groupBy) {
+        List<PeriodTotals> rows = periodTotalsRepository.findByPeriod(month, year);
+
+        Map<String, PeriodTotals> groups = new LinkedHashMap<>();
+        PeriodTotals total = PeriodTotals.empty(null, null);
+        for (PeriodTotals row : rows) {
+            PeriodTotals group = switch (groupBy) {
+                case DEPARTMENT -> PeriodTotals.empty(row.department(), null);
+                case STATUS -> PeriodTotals.empty(null, row.status());
+                case DEPARTMENT_AND_STATUS -> PeriodTotals.empty(row.department(), row.status());
+            };
+            groups.merge(group.department() + "/" + group.status(), group.plus(row), PeriodTotals::plus);
+            total = total.plus(row);
+        }
+
+        return PayrollPeriodSummaryDTO.builder()
+                .month(month)
+                .year(year)
+                .groupBy(groupBy)
+                .groups(groups.values().stream().map(PayrollTotalsMapper::toResponseDTO).toList())
+                .total(PayrollTotalsMapper.toResponseDTO(total))
+                .build();
     }
-    
-    private BigDecimal calculatePercentage(BigDecimal amount, BigDecimal percentage) {
-        return amount.multiply(percentage.divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP))
-                .setScale(2, RoundingMode.HALF_UP);
+
+    private record PayrollRunInput(Set<UUID> employeesWithPayslip, DeductionRuleSet rules,
+                                   Collection<Employment> employments) {
+    }
+
+    private record PayslipComputation(List<Payslip> payslips, int skipped, int failed) {
     }
-}
\ No newline at end of file
+}
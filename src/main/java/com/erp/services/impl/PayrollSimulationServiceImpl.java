@@ -0,0 +1,75 @@
+package com.erp.services.impl;
+
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.enums.EDeductionType;
+import com.erp.repositories.PayrollSnapshotRepository;
+import com.erp.services.IDeductionService;
+import com.erp.services.IPayrollSimulationService;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayrollSimulator;
+import com.erp.services.payroll.PayrollSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class PayrollSimulationServiceImpl implements IPayrollSimulationService {
+
+    private final PayrollSnapshotRepository payrollSnapshotRepository;
+    private final IDeductionService deductionService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration snapshotTtl;
+
+    private final AtomicReference<PayrollSnapshot> snapshot = new AtomicReference<>();
+
+    public PayrollSimulationServiceImpl(PayrollSnapshotRepository payrollSnapshotRepository,
+                                        IDeductionService deductionService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${application.payroll.simulation.snapshot-ttl:PT10M}") Duration snapshotTtl) {
+        this.payrollSnapshotRepository = payrollSnapshotRepository;
+        this.deductionService = deductionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotTtl = snapshotTtl;
+    }
+
+    /**
+     * Compares the current deduction rules with the same rules after applying {@code percentages}, across every
+     * active employee. Salaries come from a snapshot shared by all simulations and reloaded after
+     * {@code application.payroll.simulation.snapshot-ttl}, or on request, so repeated what-if questions cost no queries.
+     */
+    @Override
+    public PayrollSimulationResultDTO simulate(Map<EDeductionType, BigDecimal> percentages, boolean refreshSnapshot) {
+        DeductionRuleSet current = deductionService.getRuleSet();
+        return PayrollSimulator.simulate(snapshot(refreshSnapshot), current, current.withPercentages(percentages));
+    }
+
+    private PayrollSnapshot snapshot(boolean refresh) {
+        PayrollSnapshot current = snapshot.get();
+        if (!refresh && isFresh(current)) {
+            return current;
+        }
+
+        // One load at a time; requests queued behind it reuse the snapshot it produced
+        synchronized (snapshot) {
+            PayrollSnapshot latest = snapshot.get();
+            if (latest != current && isFresh(latest)) {
+                return latest;
+            }
+            PayrollSnapshot loaded = readOnlyTransaction.execute(status -> payrollSnapshotRepository.loadActiveEmployments());
+            snapshot.set(loaded);
+            return loaded;
+        }
+    }
+
+    private boolean isFresh(PayrollSnapshot snapshot) {
+        return snapshot != null && snapshot.getTakenAt().plus(snapshotTtl).isAfter(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,126 @@
+package com.erp.services.impl;
+
+import com.erp.enums.EExportFormat;
+import com.erp.repositories.PayslipExportRepository;
+import com.erp.repositories.projections.PayslipExportRow;
+import com.erp.services.IPayslipExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Service
+public class PayslipExportServiceImpl implements IPayslipExportService {
+
+    private static final String CSV_HEADER = "payslip_id,employee_code,first_name,last_name,national_id,gross_salary," +
+            "housing_amount,transport_amount,employee_tax_amount,pension_amount,medical_insurance_amount," +
+            "other_deductions,net_salary,month,year,status";
+
+    private final PayslipExportRepository payslipExportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PayslipExportServiceImpl(PayslipExportRepository payslipExportRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.payslipExportRepository = payslipExportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the payslips of a period to {@code out} as they are read. Rows are in payslip id order, so an
+     * interrupted export can be resumed by passing the last exported id as {@code afterId}.
+     */
+    @Override
+    public void exportPayslips(Integer month, Integer year, EExportFormat format, UUID afterId, Integer limit,
+                               OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == EExportFormat.CSV) {
+                writeCsv(month, year, afterId, limit, writer);
+            } else {
+                writeNdjson(month, year, afterId, limit, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Integer month, Integer year, UUID afterId, Integer limit, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        stream(month, year, afterId, limit, row -> {
+            writer.write(String.join(",",
+                    row.payslipId().toString(),
+                    csv(row.employeeCode()),
+                    csv(row.firstName()),
+                    csv(row.lastName()),
+                    csv(row.nationalId()),
+                    amount(row.grossSalary()),
+                    amount(row.housingAmount()),
+                    amount(row.transportAmount()),
+                    amount(row.employeeTaxAmount()),
+                    amount(row.pensionAmount()),
+                    amount(row.medicalInsuranceAmount()),
+                    amount(row.otherDeductions()),
+                    amount(row.netSalary()),
+                    String.valueOf(row.month()),
+                    String.valueOf(row.year()),
+                    csv(row.status())));
+            writer.write('\n');
+        });
+    }
+
+    private void writeNdjson(Integer month, Integer year, UUID afterId, Integer limit, Writer writer) {
+        ObjectWriter rowWriter = objectMapper.writerFor(PayslipExportRow.class);
+        stream(month, year, afterId, limit, row -> {
+            writer.write(rowWriter.writeValueAsString(row));
+            writer.write('\n');
+        });
+    }
+
+    private void stream(Integer month, Integer year, UUID afterId, Integer limit, RowWriter rowWriter) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                payslipExportRepository.streamByMonthAndYear(month, year, afterId, limit, row -> {
+                    try {
+                        rowWriter.write(row);
+                    } catch (IOException e) {
+                        // Typically the client went away; abandon the query instead of reading the rest of the period
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String amount(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PayslipExportRow row) throws IOException;
+    }
+}
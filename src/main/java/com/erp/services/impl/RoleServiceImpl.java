@@ -10,11 +10,14 @@ import com.erp.exceptions.NotFoundException;
 import com.erp.models.Role;
 import com.erp.repositories.IRoleRepository;
 import com.erp.services.IRoleService;
+import com.erp.utils.UniqueConstraints;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -37,39 +40,27 @@ public class RoleServiceImpl implements IRoleService {
 
     @Override
     public void createRole(ERole roleName) {
-        if (roleRepository.findRoleByName(roleName).isPresent()) {
-            throw new InternalServerErrorException("Role " + roleName + " already exists");
-        }
-
-        Role role = Role.builder()
-                .name(roleName)
-                .build();
-
-        try {
-            roleRepository.save(role);
-        } catch (Exception e) {
-            throw new InternalServerErrorException("Could not create role: " + e.getMessage());
-        }
+        saveRole(roleName);
     }
 
     @Override
     public RoleResponseDTO createRole(CreateRoleDTO createRoleDTO) {
         ERole roleName = ERole.valueOf(createRoleDTO.getName().name().toUpperCase());
+        return RoleResponseDTO.builder()
+                .role(saveRole(roleName))
+                .build();
+    }
 
-        if (roleRepository.findRoleByName(roleName).isPresent()) {
-            throw new InternalServerErrorException("Role " + roleName + " already exists");
-        }
-
+    private Role saveRole(ERole roleName) {
         Role role = Role.builder()
                 .name(roleName)
                 .build();
 
         try {
-            Role savedRole = roleRepository.save(role);
-            return RoleResponseDTO.builder()
-                     .role(savedRole)
-                    .build();
-        } catch (Exception e) {
+            return UniqueConstraints.write(() -> roleRepository.saveAndFlush(role), Map.of(
+                    UniqueConstraints.ROLES_NAME, () -> new InternalServerErrorException("Role " + roleName + " already exists")
+            ));
+        } catch (DataAccessException e) {
             throw new InternalServerErrorException("Could not create role: " + e.getMessage());
         }
     }
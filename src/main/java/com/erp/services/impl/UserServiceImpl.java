@@ -14,27 +14,42 @@ import com.erp.models.Role;
 import com.erp.models.User;
 import com.erp.repositories.IRoleRepository;
 import com.erp.repositories.IUserRepository;
+import com.erp.security.jwt.TokenVersionService;
+import com.erp.security.user.UserChangedEvent;
 import com.erp.services.IRoleService;
 import com.erp.services.IUserService;
+import com.erp.utils.UniqueConstraints;
+import com.erp.utils.pagination.CursorRequest;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements IUserService {
 
+    private static final Map<String, Supplier<? extends RuntimeException>> USER_UNIQUE_VIOLATIONS = Map.of(
+            UniqueConstraints.USERS_EMAIL, () -> new BadRequestException("User with the email already exists"),
+            UniqueConstraints.USERS_PHONE_NUMBER, () -> new BadRequestException("User with the phone number already exists"),
+            UniqueConstraints.USERS_NATIONAL_ID, () -> new BadRequestException("User with the national ID already exists")
+    );
+
     private final IUserRepository userRepository;
     private final IRoleRepository roleRepository;
     private final IRoleService roleService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${application.security.admin.create.code}")
     private String adminCreateCode;
@@ -64,10 +79,6 @@ public class UserServiceImpl implements IUserService {
     }
 
     public User createUserEntity(CreateAdminDTO createAdminDTO) {
-        if (isUserPresent(createAdminDTO.getEmail())) {
-            throw new BadRequestException("User with the email already exists");
-        }
-
         return User.builder()
                 .email(createAdminDTO.getEmail())
                 .firstName(createAdminDTO.getFirstName())
@@ -88,17 +99,13 @@ public class UserServiceImpl implements IUserService {
         }
 
         User user = createUserEntity(createAdminDTO);
-        userRepository.save(user);
+        UniqueConstraints.write(() -> userRepository.saveAndFlush(user), USER_UNIQUE_VIOLATIONS);
         return new UserResponseDTO(user);
     }
 
     @Override
     @Transactional
     public UserResponseDTO createEmployee(RegisterUserDTO registerUserDTO) {
-        if (isUserPresent(registerUserDTO.getEmail())) {
-            throw new BadRequestException("User with the email already exists");
-        }
-
         User user = User.builder()
                 .email(registerUserDTO.getEmail())
                 .firstName(registerUserDTO.getFirstName())
@@ -110,13 +117,14 @@ public class UserServiceImpl implements IUserService {
                 .roles(new HashSet<>(Collections.singletonList(roleService.getRoleByName(ERole.ROLE_EMPLOYEE))))
                 .build();
 
-        userRepository.save(user);
+        UniqueConstraints.write(() -> userRepository.saveAndFlush(user), USER_UNIQUE_VIOLATIONS);
         return new UserResponseDTO(user);
     }
 
     @Override
-    public List<User> getUsers() {
-        return userRepository.findAll();
+    public Window<User> getUsers(CursorRequest request) {
+        // Users have no audit columns, so they are paged by id
+        return userRepository.findAllBy(request.position(), request.limit(), CursorRequest.BY_ID);
     }
 
     @Override
@@ -126,21 +134,35 @@ public class UserServiceImpl implements IUserService {
     }
 
     @Override
+    @Transactional
     public UserResponseDTO updateUser(UUID userId, UpdateUserDTO updateUserDTO) {
         User user = findUserById(userId);
+        // The principal is cached under the email it had before the change
+        String previousEmail = user.getEmail();
 
         user.setFirstName(updateUserDTO.getFirstName());
         user.setLastName(updateUserDTO.getLastName());
         user.setFullName(updateUserDTO.getFirstName() + " " + updateUserDTO.getLastName());
         user.setPhoneNumber(updateUserDTO.getPhoneNumber());
+
+        // Access tokens carry the email as the principal name
+        boolean emailChanged = !Objects.equals(user.getEmail(), updateUserDTO.getEmail());
         user.setEmail(updateUserDTO.getEmail());
+        if (emailChanged) {
+            user.revokeTokens();
+        }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, previousEmail));
+        if (emailChanged) {
+            tokenVersionService.evict(userId);
+        }
 
         return new UserResponseDTO(user);
     }
 
     @Override
+    @Transactional
     public UserResponseDTO addRoles(UUID userId, UserRoleModificationDTO userRoleModificationDTO) {
         User user = findUserById(userId);
         Set<Role> roles = user.getRoles();
@@ -151,12 +173,16 @@ public class UserServiceImpl implements IUserService {
 
 
         user.getRoles().addAll(roles);
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
+        tokenVersionService.evict(userId);
 
         return new UserResponseDTO(user);
     }
 
     @Override
+    @Transactional
     public UserResponseDTO removeRoles(UUID userId, UserRoleModificationDTO userRoleModificationDTO) {
         User user = findUserById(userId);
         Set<Role> rolesToRemove = new HashSet<>();
@@ -166,12 +192,16 @@ public class UserServiceImpl implements IUserService {
         }
 
         user.getRoles().removeAll(rolesToRemove);
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
+        tokenVersionService.evict(userId);
 
         return new UserResponseDTO(user);
     }
 
     @Override
+    @Transactional
     public UserResponseDTO changeRole(UUID userId, UserRoleChangeDTO userRoleChangeDTO) {
         User user = findUserById(userId);
 
@@ -181,29 +211,38 @@ public class UserServiceImpl implements IUserService {
         // Add the new role
         Role newRole = roleService.getRoleByName(userRoleChangeDTO.getNewRole());
         user.getRoles().add(newRole);
+        user.revokeTokens();
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
+        tokenVersionService.evict(userId);
 
         return new UserResponseDTO(user);
     }
 
     @Override
+    @Transactional
     public UserResponseDTO changeAccountStatus(UUID userId, UserStatusChangeDTO userStatusChangeDTO) {
         User user = findUserById(userId);
 
         // Set the new account status
         user.setAccountStatus(userStatusChangeDTO.getNewStatus());
+        user.revokeTokens();
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
+        tokenVersionService.evict(userId);
 
         return new UserResponseDTO(user);
     }
 
     @Override
+    @Transactional
     public void deleteUser(UUID userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new BadRequestException("User not found");
-        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BadRequestException("User not found"));
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
+        tokenVersionService.evict(userId);
     }
 }
@@ -0,0 +1,86 @@
+package com.erp.services.payroll;
+
+import com.erp.enums.EDeductionType;
+import com.erp.models.Deduction;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of the deduction table used by payroll computation.
+ * Deduction names are resolved to {@link EDeductionType} once at compile time and each percentage is
+ * pre-divided by 100 with the same scale and rounding payslips have always used, so computing a payslip
+ * needs no queries and no string comparisons.
+ */
+public final class DeductionRuleSet {
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    @Getter
+    private final long version;
+
+    @Getter
+    private final Instant compiledAt;
+
+    private final BigDecimal[] rates;
+
+    private final long[] ratesInHundredths;
+
+    private DeductionRuleSet(long version, BigDecimal[] rates) {
+        this.version = version;
+        this.compiledAt = Instant.now();
+        this.rates = rates;
+        this.ratesInHundredths = new long[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            // Every rate has scale 2, so its unscaled value is the rate in hundredths (14 for 0.14)
+            this.ratesInHundredths[i] = rates[i].movePointRight(2).longValueExact();
+        }
+    }
+
+    public static DeductionRuleSet compile(long version, List<Deduction> deductions) {
+        BigDecimal[] rates = new BigDecimal[EDeductionType.values().length];
+        Arrays.fill(rates, BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP));
+
+        // Like the old per-payslip lookup, the first deduction with a matching name wins
+        boolean[] resolved = new boolean[rates.length];
+        for (Deduction deduction : deductions) {
+            EDeductionType type = EDeductionType.fromDeductionName(deduction.getName());
+            if (type == null || resolved[type.ordinal()] || deduction.getPercentage() == null) {
+                continue;
+            }
+            rates[type.ordinal()] = deduction.getPercentage().divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
+            resolved[type.ordinal()] = true;
+        }
+        return new DeductionRuleSet(version, rates);
+    }
+
+    /**
+     * A copy of these rules with some percentages replaced, rounded the same way as compiled deductions.
+     * Used to evaluate hypothetical deduction changes without touching the deduction table.
+     */
+    public DeductionRuleSet withPercentages(Map<EDeductionType, BigDecimal> percentages) {
+        BigDecimal[] overridden = rates.clone();
+        percentages.forEach((type, percentage) ->
+                overridden[type.ordinal()] = percentage.divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP));
+        return new DeductionRuleSet(version, overridden);
+    }
+
+    /**
+     * @return the percentage for the given deduction as a fraction with scale 2, e.g. 0.14 for 14%
+     */
+    public BigDecimal rate(EDeductionType type) {
+        return rates[type.ordinal()];
+    }
+
+    /**
+     * @return the same rate as {@link #rate(EDeductionType)} expressed in hundredths, e.g. 14 for 0.14
+     */
+    public long rateInHundredths(EDeductionType type) {
+        return ratesInHundredths[type.ordinal()];
+    }
+}
@@ -0,0 +1,104 @@
+package com.erp.services.payroll;
+
+import com.erp.enums.EDeductionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Payslip arithmetic on scaled {@code long} minor units (cents).
+ * <p>
+ * Rates from a {@link DeductionRuleSet} always have scale 2, so every component is
+ * {@code round(cents * hundredths / 100)} with HALF_UP rounding, which is exactly what
+ * {@code amount.multiply(rate).setScale(2, HALF_UP)} produces. Values are only turned into
+ * {@link BigDecimal} once, when the {@link PayslipAmounts} are built. Salaries with more than two
+ * decimal places, or large enough to overflow a {@code long}, go through {@link #computeExact}.
+ */
+public final class PayrollArithmetic {
+
+    private static final int SCALE = 2;
+
+    private PayrollArithmetic() {
+    }
+
+    public static PayslipAmounts compute(BigDecimal baseSalary, DeductionRuleSet rules) {
+        if (baseSalary.scale() > SCALE) {
+            return computeExact(baseSalary, rules);
+        }
+        try {
+            return computeInCents(baseSalary.movePointRight(SCALE).longValueExact(), rules);
+        } catch (ArithmeticException e) {
+            return computeExact(baseSalary, rules);
+        }
+    }
+
+    private static PayslipAmounts computeInCents(long base, DeductionRuleSet rules) {
+        long housing = applyRate(base, rules.rateInHundredths(EDeductionType.HOUSING));
+        long transport = applyRate(base, rules.rateInHundredths(EDeductionType.TRANSPORT));
+        long gross = Math.addExact(Math.addExact(base, housing), transport);
+
+        long employeeTax = applyRate(base, rules.rateInHundredths(EDeductionType.EMPLOYEE_TAX));
+        long pension = applyRate(base, rules.rateInHundredths(EDeductionType.PENSION));
+        long medicalInsurance = applyRate(base, rules.rateInHundredths(EDeductionType.MEDICAL_INSURANCE));
+        long others = applyRate(base, rules.rateInHundredths(EDeductionType.OTHERS));
+        long totalDeductions = Math.addExact(Math.addExact(employeeTax, pension), Math.addExact(medicalInsurance, others));
+
+        return new PayslipAmounts(
+                toAmount(housing),
+                toAmount(transport),
+                toAmount(employeeTax),
+                toAmount(pension),
+                toAmount(medicalInsurance),
+                toAmount(others),
+                toAmount(gross),
+                toAmount(Math.subtractExact(gross, totalDeductions))
+        );
+    }
+
+    /**
+     * @return {@code cents * hundredths / 100} rounded HALF_UP, i.e. half away from zero
+     */
+    static long applyRate(long cents, long hundredths) {
+        long product = Math.multiplyExact(cents, hundredths);
+        long quotient = product / 100;
+        long remainder = product % 100;
+        if (Math.abs(remainder) >= 50) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * The original {@link BigDecimal} computation, used for inputs the fixed-point path cannot represent.
+     */
+    public static PayslipAmounts computeExact(BigDecimal baseSalary, DeductionRuleSet rules) {
+        BigDecimal housingAmount = applyRate(baseSalary, rules.rate(EDeductionType.HOUSING));
+        BigDecimal transportAmount = applyRate(baseSalary, rules.rate(EDeductionType.TRANSPORT));
+        BigDecimal grossSalary = baseSalary.add(housingAmount).add(transportAmount);
+
+        BigDecimal employeeTaxAmount = applyRate(baseSalary, rules.rate(EDeductionType.EMPLOYEE_TAX));
+        BigDecimal pensionAmount = applyRate(baseSalary, rules.rate(EDeductionType.PENSION));
+        BigDecimal medicalInsuranceAmount = applyRate(baseSalary, rules.rate(EDeductionType.MEDICAL_INSURANCE));
+        BigDecimal otherDeductions = applyRate(baseSalary, rules.rate(EDeductionType.OTHERS));
+        BigDecimal totalDeductions = employeeTaxAmount.add(pensionAmount).add(medicalInsuranceAmount).add(otherDeductions);
+
+        return new PayslipAmounts(
+                housingAmount,
+                transportAmount,
+                employeeTaxAmount,
+                pensionAmount,
+                medicalInsuranceAmount,
+                otherDeductions,
+                grossSalary,
+                grossSalary.subtract(totalDeductions)
+        );
+    }
+
+    private static BigDecimal applyRate(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,214 @@
+package com.erp.services.payroll;
+
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.dtos.response.payslip.PayrollTotalsDTO;
+import com.erp.enums.EDeductionType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a hypothetical deduction rule set against a {@link PayrollSnapshot} in memory. Every employee is
+ * computed under the current and the simulated rules with the same fixed-point arithmetic as
+ * {@link PayrollArithmetic}, in parallel, and only sums and sorted net salaries are kept. Nothing is written.
+ */
+public final class PayrollSimulator {
+
+    private static final int HOUSING = 0;
+    private static final int TRANSPORT = 1;
+    private static final int EMPLOYEE_TAX = 2;
+    private static final int PENSION = 3;
+    private static final int MEDICAL_INSURANCE = 4;
+    private static final int OTHERS = 5;
+    private static final int GROSS = 6;
+    private static final int NET = 7;
+    private static final int COMPONENTS = 8;
+
+    private static final int[] PERCENTILES = {10, 25, 50, 75, 90, 99};
+
+    // Net salaries are never this low, so it marks excluded employees in the per-employee columns
+    private static final long EXCLUDED = Long.MIN_VALUE;
+
+    private PayrollSimulator() {
+    }
+
+    public static PayrollSimulationResultDTO simulate(PayrollSnapshot snapshot, DeductionRuleSet current, DeductionRuleSet simulated) {
+        long startedAt = System.currentTimeMillis();
+        long[] currentRates = ratesInHundredths(current);
+        long[] simulatedRates = ratesInHundredths(simulated);
+        long[] simulatedNet = new long[snapshot.size()];
+        long[] netDelta = new long[snapshot.size()];
+
+        Totals totals = IntStream.range(0, snapshot.size()).parallel().collect(
+                () -> new Totals(snapshot.departmentCount()),
+                (acc, employee) -> {
+                    long baseSalary = snapshot.baseSalaryInCents(employee);
+                    compute(baseSalary, currentRates, acc.currentAmounts);
+                    compute(baseSalary, simulatedRates, acc.simulatedAmounts);
+                    if (acc.currentAmounts[NET] < 0 || acc.simulatedAmounts[NET] < 0) {
+                        // Payroll generation rejects these employees, so they are left out here as well
+                        acc.excluded++;
+                        simulatedNet[employee] = EXCLUDED;
+                        netDelta[employee] = EXCLUDED;
+                        return;
+                    }
+                    acc.add(snapshot.departmentIndex(employee));
+                    simulatedNet[employee] = acc.simulatedAmounts[NET];
+                    netDelta[employee] = acc.simulatedAmounts[NET] - acc.currentAmounts[NET];
+                },
+                Totals::merge);
+
+        long[] delta = new long[COMPONENTS];
+        for (int component = 0; component < COMPONENTS; component++) {
+            delta[component] = totals.simulated[component] - totals.current[component];
+        }
+
+        List<PayrollTotalsDTO> departmentDeltas = new ArrayList<>(snapshot.departmentCount());
+        for (int department = 0; department < snapshot.departmentCount(); department++) {
+            if (totals.departmentEmployees[department] > 0) {
+                departmentDeltas.add(toTotals(snapshot.department(department), totals.departmentEmployees[department],
+                        Arrays.copyOfRange(totals.departmentDelta, department * COMPONENTS, (department + 1) * COMPONENTS)));
+            }
+        }
+
+        int employees = snapshot.size() - totals.excluded;
+        return PayrollSimulationResultDTO.builder()
+                .percentages(percentages(simulated))
+                .employees(employees)
+                .excluded(totals.excluded)
+                .snapshotTakenAt(snapshot.getTakenAt())
+                .current(toTotals(null, employees, totals.current))
+                .simulated(toTotals(null, employees, totals.simulated))
+                .delta(toTotals(null, employees, delta))
+                .departmentDeltas(departmentDeltas)
+                .netSalaryPercentiles(percentiles(simulatedNet))
+                .netSalaryDeltaPercentiles(percentiles(netDelta))
+                .durationMillis(System.currentTimeMillis() - startedAt)
+                .build();
+    }
+
+    /**
+     * Same composition as the fixed-point path of {@link PayrollArithmetic#compute}, written into {@code amounts}
+     * so no objects are allocated per employee.
+     */
+    static void compute(long baseSalary, long[] rates, long[] amounts) {
+        amounts[HOUSING] = PayrollArithmetic.applyRate(baseSalary, rates[HOUSING]);
+        amounts[TRANSPORT] = PayrollArithmetic.applyRate(baseSalary, rates[TRANSPORT]);
+        amounts[GROSS] = Math.addExact(Math.addExact(baseSalary, amounts[HOUSING]), amounts[TRANSPORT]);
+        amounts[EMPLOYEE_TAX] = PayrollArithmetic.applyRate(baseSalary, rates[EMPLOYEE_TAX]);
+        amounts[PENSION] = PayrollArithmetic.applyRate(baseSalary, rates[PENSION]);
+        amounts[MEDICAL_INSURANCE] = PayrollArithmetic.applyRate(baseSalary, rates[MEDICAL_INSURANCE]);
+        amounts[OTHERS] = PayrollArithmetic.applyRate(baseSalary, rates[OTHERS]);
+        long totalDeductions = Math.addExact(Math.addExact(amounts[EMPLOYEE_TAX], amounts[PENSION]),
+                Math.addExact(amounts[MEDICAL_INSURANCE], amounts[OTHERS]));
+        amounts[NET] = Math.subtractExact(amounts[GROSS], totalDeductions);
+    }
+
+    private static long[] ratesInHundredths(DeductionRuleSet rules) {
+        long[] rates = new long[COMPONENTS];
+        rates[HOUSING] = rules.rateInHundredths(EDeductionType.HOUSING);
+        rates[TRANSPORT] = rules.rateInHundredths(EDeductionType.TRANSPORT);
+        rates[EMPLOYEE_TAX] = rules.rateInHundredths(EDeductionType.EMPLOYEE_TAX);
+        rates[PENSION] = rules.rateInHundredths(EDeductionType.PENSION);
+        rates[MEDICAL_INSURANCE] = rules.rateInHundredths(EDeductionType.MEDICAL_INSURANCE);
+        rates[OTHERS] = rules.rateInHundredths(EDeductionType.OTHERS);
+        return rates;
+    }
+
+    private static Map<EDeductionType, BigDecimal> percentages(DeductionRuleSet rules) {
+        Map<EDeductionType, BigDecimal> percentages = new EnumMap<>(EDeductionType.class);
+        for (EDeductionType type : EDeductionType.values()) {
+            percentages.put(type, rules.rate(type).movePointRight(2));
+        }
+        return percentages;
+    }
+
+    /**
+     * Nearest-rank percentiles of the included values, as amounts.
+     */
+    private static Map<String, BigDecimal> percentiles(long[] values) {
+        long[] included = Arrays.stream(values).parallel().filter(value -> value != EXCLUDED).toArray();
+        Arrays.parallelSort(included);
+
+        Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+        if (included.length == 0) {
+            return percentiles;
+        }
+        for (int percentile : PERCENTILES) {
+            // ceil(percentile * n / 100) in integer arithmetic, so p99 of 100 values is exactly the 99th
+            int rank = (int) (((long) percentile * included.length + 99) / 100);
+            percentiles.put("p" + percentile, toAmount(included[Math.max(rank, 1) - 1]));
+        }
+        return percentiles;
+    }
+
+    private static PayrollTotalsDTO toTotals(String department, long employees, long[] amounts) {
+        return PayrollTotalsDTO.builder()
+                .department(department)
+                .payslipCount(employees)
+                .housingAmount(toAmount(amounts[HOUSING]))
+                .transportAmount(toAmount(amounts[TRANSPORT]))
+                .employeeTaxAmount(toAmount(amounts[EMPLOYEE_TAX]))
+                .pensionAmount(toAmount(amounts[PENSION]))
+                .medicalInsuranceAmount(toAmount(amounts[MEDICAL_INSURANCE]))
+                .otherDeductions(toAmount(amounts[OTHERS]))
+                .grossSalary(toAmount(amounts[GROSS]))
+                .netSalary(toAmount(amounts[NET]))
+                .build();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Per-thread sums. The scratch arrays hold the employee being computed, so the accumulator must stay confined
+     * to the thread that owns it, which {@link IntStream#collect} guarantees.
+     */
+    private static final class Totals {
+
+        private final long[] currentAmounts = new long[COMPONENTS];
+        private final long[] simulatedAmounts = new long[COMPONENTS];
+
+        private final long[] current = new long[COMPONENTS];
+        private final long[] simulated = new long[COMPONENTS];
+        private final long[] departmentDelta;
+        private final int[] departmentEmployees;
+        private int excluded;
+
+        private Totals(int departments) {
+            this.departmentDelta = new long[departments * COMPONENTS];
+            this.departmentEmployees = new int[departments];
+        }
+
+        private void add(int department) {
+            int offset = department * COMPONENTS;
+            for (int component = 0; component < COMPONENTS; component++) {
+                current[component] += currentAmounts[component];
+                simulated[component] += simulatedAmounts[component];
+                departmentDelta[offset + component] += simulatedAmounts[component] - currentAmounts[component];
+            }
+            departmentEmployees[department]++;
+        }
+
+        private void merge(Totals other) {
+            for (int component = 0; component < COMPONENTS; component++) {
+                current[component] += other.current[component];
+                simulated[component] += other.simulated[component];
+            }
+            for (int i = 0; i < departmentDelta.length; i++) {
+                departmentDelta[i] += other.departmentDelta[i];
+            }
+            for (int i = 0; i < departmentEmployees.length; i++) {
+                departmentEmployees[i] += other.departmentEmployees[i];
+            }
+            excluded += other.excluded;
+        }
+    }
+}
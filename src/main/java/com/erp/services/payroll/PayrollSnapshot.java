@@ -0,0 +1,107 @@
+package com.erp.services.payroll;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact, read-only copy of the salary inputs of every active employee, held column by column: base salaries
+ * in cents in one {@code long[]} and departments as indexes into a small dictionary. 100k employees take about
+ * 1.2 MB and can be scanned in parallel without touching entities or the database.
+ */
+public final class PayrollSnapshot {
+
+    @Getter
+    private final LocalDateTime takenAt;
+
+    private final long[] baseSalaries;
+
+    private final int[] departmentIndexes;
+
+    private final String[] departments;
+
+    @Getter
+    private final int skipped;
+
+    private PayrollSnapshot(long[] baseSalaries, int[] departmentIndexes, String[] departments, int skipped) {
+        this.takenAt = LocalDateTime.now();
+        this.baseSalaries = baseSalaries;
+        this.departmentIndexes = departmentIndexes;
+        this.departments = departments;
+        this.skipped = skipped;
+    }
+
+    public int size() {
+        return baseSalaries.length;
+    }
+
+    public long baseSalaryInCents(int employee) {
+        return baseSalaries[employee];
+    }
+
+    public int departmentIndex(int employee) {
+        return departmentIndexes[employee];
+    }
+
+    public int departmentCount() {
+        return departments.length;
+    }
+
+    public String department(int index) {
+        return departments[index];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private long[] baseSalaries = new long[1024];
+        private int[] departmentIndexes = new int[1024];
+        private final Map<String, Integer> departments = new HashMap<>();
+        private int size;
+        private int skipped;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds one employee. Salaries that are missing or cannot be held in cents are left out and counted as skipped.
+         */
+        public Builder add(BigDecimal baseSalary, String department) {
+            if (baseSalary == null) {
+                skipped++;
+                return this;
+            }
+
+            long cents;
+            try {
+                cents = baseSalary.setScale(2).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                skipped++;
+                return this;
+            }
+
+            if (size == baseSalaries.length) {
+                baseSalaries = Arrays.copyOf(baseSalaries, size * 2);
+                departmentIndexes = Arrays.copyOf(departmentIndexes, size * 2);
+            }
+            String key = department == null ? PayslipCalculator.UNASSIGNED_DEPARTMENT : department;
+            baseSalaries[size] = cents;
+            departmentIndexes[size] = departments.computeIfAbsent(key, name -> departments.size());
+            size++;
+            return this;
+        }
+
+        public PayrollSnapshot build() {
+            String[] names = new String[departments.size()];
+            departments.forEach((name, index) -> names[index] = name);
+            return new PayrollSnapshot(Arrays.copyOf(baseSalaries, size), Arrays.copyOf(departmentIndexes, size), names, skipped);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.erp.services.payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Monetary components of a single payslip. Amounts have scale 2 unless the base salary itself has more decimal places.
+ */
+public record PayslipAmounts(
+        BigDecimal housingAmount,
+        BigDecimal transportAmount,
+        BigDecimal employeeTaxAmount,
+        BigDecimal pensionAmount,
+        BigDecimal medicalInsuranceAmount,
+        BigDecimal otherDeductions,
+        BigDecimal grossSalary,
+        BigDecimal netSalary
+) {
+
+    public boolean deductionsExceedGrossSalary() {
+        return netSalary.signum() < 0;
+    }
+}
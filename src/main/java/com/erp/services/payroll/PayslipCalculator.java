@@ -0,0 +1,45 @@
+package com.erp.services.payroll;
+
+import com.erp.enums.EPayslipStatus;
+import com.erp.exceptions.AppException;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+
+/**
+ * Builds a pending payslip from an employment and the compiled deduction rules. Has no dependencies
+ * so the same code path can be used by the payroll service and measured in isolation.
+ */
+public final class PayslipCalculator {
+
+    // Department recorded for employments without one, so every payslip falls into a period total
+    public static final String UNASSIGNED_DEPARTMENT = "UNASSIGNED";
+
+    private PayslipCalculator() {
+    }
+
+    public static Payslip calculate(Employee employee, Employment employment, DeductionRuleSet rules, Integer month, Integer year) {
+        PayslipAmounts amounts = PayrollArithmetic.compute(employment.getBaseSalary(), rules);
+
+        // Ensure deductions don't exceed gross salary
+        if (amounts.deductionsExceedGrossSalary()) {
+            throw new AppException("Total deductions exceed gross salary for employee " + employee.getCode());
+        }
+
+        return Payslip.builder()
+                .employee(employee)
+                .housingAmount(amounts.housingAmount())
+                .transportAmount(amounts.transportAmount())
+                .employeeTaxAmount(amounts.employeeTaxAmount())
+                .pensionAmount(amounts.pensionAmount())
+                .medicalInsuranceAmount(amounts.medicalInsuranceAmount())
+                .otherDeductions(amounts.otherDeductions())
+                .grossSalary(amounts.grossSalary())
+                .netSalary(amounts.netSalary())
+                .month(month)
+                .year(year)
+                .department(employment.getDepartment() == null ? UNASSIGNED_DEPARTMENT : employment.getDepartment())
+                .status(EPayslipStatus.PENDING)
+                .build();
+    }
+}
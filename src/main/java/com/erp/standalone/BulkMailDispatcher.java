@@ -0,0 +1,85 @@
+package com.erp.standalone;
+
+import com.erp.repositories.projections.OutboxEmail;
+import com.google.common.util.concurrent.RateLimiter;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends a batch of emails over one pooled SMTP connection instead of a connection per email. All callers share
+ * one rate limit towards the mail server, so a mass notification cannot trip the server's throttling.
+ */
+@Service
+public class BulkMailDispatcher {
+
+    private final EmailService emailService;
+    private final SmtpTransportPool transportPool;
+    private final RateLimiter rateLimiter;
+
+    public BulkMailDispatcher(EmailService emailService,
+                              SmtpTransportPool transportPool,
+                              @Value("${application.mail.smtp.rate-limit:0}") double messagesPerSecond) {
+        this.emailService = emailService;
+        this.transportPool = transportPool;
+        // 0 or less disables the limit
+        this.rateLimiter = messagesPerSecond > 0 ? RateLimiter.create(messagesPerSecond) : null;
+    }
+
+    /**
+     * Sends every email in order and returns the ones that failed, by outbox id. A rejected recipient only fails
+     * its own email; a broken connection is replaced before the next one.
+     */
+    public Map<UUID, Exception> sendAll(List<OutboxEmail> emails) {
+        Map<UUID, Exception> failures = new HashMap<>();
+        SmtpTransportPool.PooledTransport transport = null;
+        try {
+            for (OutboxEmail email : emails) {
+                MimeMessage message;
+                try {
+                    message = emailService.render(email.recipient(), email.username(), email.subject(), email.template(), email.variables());
+                } catch (Exception e) {
+                    failures.put(email.id(), e);
+                    continue;
+                }
+
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+
+                try {
+                    if (transport == null) {
+                        transport = transportPool.borrow();
+                    }
+                    transport.send(message);
+                } catch (SendFailedException e) {
+                    failures.put(email.id(), e);
+                } catch (MessagingException e) {
+                    failures.put(email.id(), e);
+                    if (transport != null) {
+                        transportPool.invalidate(transport);
+                        transport = null;
+                    }
+                    continue;
+                }
+
+                if (transport.isExhausted()) {
+                    transportPool.release(transport);
+                    transport = null;
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transportPool.release(transport);
+            }
+        }
+        return failures;
+    }
+}
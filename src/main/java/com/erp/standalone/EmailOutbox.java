@@ -0,0 +1,29 @@
+package com.erp.standalone;
+
+import com.erp.enums.IEmailTemplate;
+import com.erp.repositories.EmailOutboxRepository;
+import com.erp.repositories.projections.OutboxEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues emails for {@link EmailOutboxWorker}. Emails are stored in the caller's transaction, so they are sent
+ * only if it commits and survive a restart; callers never wait on template rendering or SMTP.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    public void enqueue(String to, String username, String subject, IEmailTemplate emailTemplate, Map<String, Object> variables) {
+        emailOutboxRepository.insertAll(List.of(OutboxEmail.of(to, username, subject, emailTemplate, variables)));
+    }
+
+    public void enqueueAll(List<OutboxEmail> emails) {
+        emailOutboxRepository.insertAll(emails);
+    }
+}
@@ -0,0 +1,129 @@
+package com.erp.standalone;
+
+import com.erp.repositories.EmailOutboxRepository;
+import com.erp.repositories.projections.OutboxEmail;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a fixed pool of sender threads. Each round claims up to {@code batch-size} due
+ * emails, splits them across the threads and waits until they are sent, so the number of in-flight sends and
+ * open SMTP connections is bounded. Every thread pushes its share through one pooled connection. A failed send
+ * is retried with exponential backoff and dead-lettered after {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final BulkMailDispatcher bulkMailDispatcher;
+    private final ExecutorService senders;
+    private final int threads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+                             BulkMailDispatcher bulkMailDispatcher,
+                             @Value("${application.mail.outbox.threads:4}") int threads,
+                             @Value("${application.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${application.mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${application.mail.outbox.lease:PT5M}") Duration lease,
+                             @Value("${application.mail.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                             @Value("${application.mail.outbox.max-backoff:PT1H}") Duration maxBackoff) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.bulkMailDispatcher = bulkMailDispatcher;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:PT1S}")
+    public void drain() {
+        // Keep going while batches come back full so a backlog is worked off without waiting for the next poll
+        List<OutboxEmail> claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            claimed = emailOutboxRepository.claimDue(batchSize, now, now.plus(lease));
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            int share = (claimed.size() + threads - 1) / threads;
+            List<Callable<Void>> sends = new ArrayList<>(threads);
+            for (int from = 0; from < claimed.size(); from += share) {
+                List<OutboxEmail> emails = claimed.subList(from, Math.min(from + share, claimed.size()));
+                sends.add(() -> {
+                    send(emails);
+                    return null;
+                });
+            }
+            try {
+                senders.invokeAll(sends);
+            } catch (InterruptedException e) {
+                // Unfinished emails are still leased and will be picked up again once the lease runs out
+                Thread.currentThread().interrupt();
+                return;
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    private void send(List<OutboxEmail> emails) {
+        Map<UUID, Exception> failures = bulkMailDispatcher.sendAll(emails);
+
+        List<UUID> sent = new ArrayList<>(emails.size() - failures.size());
+        for (OutboxEmail email : emails) {
+            Exception failure = failures.get(email.id());
+            if (failure == null) {
+                sent.add(email.id());
+            } else {
+                fail(email, failure);
+            }
+        }
+        emailOutboxRepository.deleteAll(sent);
+    }
+
+    private void fail(OutboxEmail email, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (email.attempts() >= maxAttempts) {
+            log.error("Giving up on {} email {} to {} after {} attempts", email.template(), email.id(), email.recipient(), email.attempts(), e);
+            emailOutboxRepository.markDead(email.id(), error);
+        } else {
+            log.warn("Failed to send {} email {} to {} (attempt {}), retrying", email.template(), email.id(), email.recipient(), email.attempts(), e);
+            emailOutboxRepository.reschedule(email.id(), LocalDateTime.now().plus(backoff(email.attempts())), error);
+        }
+    }
+
+    /** {@code initial-backoff * 2^(attempts - 1)}, capped at {@code max-backoff}. */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+}
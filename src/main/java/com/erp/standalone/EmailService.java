@@ -8,10 +8,7 @@ import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -23,12 +20,18 @@ import java.util.Map;
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final EmailTemplateRenderer templateRenderer;
 
 
 
-    @Async
     public void sendEmail(String to, String username, String subject, IEmailTemplate emailTemplate, Map<String, Object> variables) throws MessagingException {
+        mailSender.send(render(to, username, subject, emailTemplate, variables));
+    }
+
+    /**
+     * Builds the message without sending it, so callers can push many messages through one SMTP connection.
+     */
+    public MimeMessage render(String to, String username, String subject, IEmailTemplate emailTemplate, Map<String, Object> variables) throws MessagingException {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(
                 mimeMessage,
@@ -44,16 +47,12 @@ public class EmailService {
         variables.put("supportEmail", "contact@nzabera.com");
         variables.put("currentYear", LocalDate.now().getYear());
 
-        Context context = new Context();
-        context.setVariables(variables);
-
-        String htmlContent = templateEngine.process(emailTemplate.getName(), context);
+        String htmlContent = templateRenderer.render(emailTemplate, variables);
 
         helper.setTo(to);
         helper.setSubject(subject);
         helper.setText(htmlContent, true);
 
-        mailSender.send(mimeMessage);
-
+        return mimeMessage;
     }
 }
@@ -0,0 +1,130 @@
+package com.erp.standalone;
+
+import com.erp.enums.IEmailTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders email templates without running Thymeleaf per recipient. The first time a template is used with a given
+ * set of variable names it is rendered once with placeholder tokens, and the output is split into its static
+ * HTML and the slots where variables are printed. Later renders only concatenate the static parts with the
+ * HTML-escaped values.
+ * <p>
+ * This only works for templates that print variables, not ones that branch or loop on them, so every compiled
+ * template is checked against a real Thymeleaf render first. Templates that fail the check, and renders with
+ * null values, go through the engine as before.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private final SpringTemplateEngine templateEngine;
+    private final boolean precompile;
+    private final Map<TemplateKey, CompiledTemplate> compiled = new ConcurrentHashMap<>();
+
+    public EmailTemplateRenderer(SpringTemplateEngine templateEngine,
+                                 @Value("${application.mail.templates.precompile:true}") boolean precompile) {
+        this.templateEngine = templateEngine;
+        this.precompile = precompile;
+    }
+
+    public String render(IEmailTemplate emailTemplate, Map<String, Object> variables) {
+        if (!precompile || variables.containsValue(null)) {
+            return process(emailTemplate, variables);
+        }
+        CompiledTemplate template = compiled.computeIfAbsent(
+                new TemplateKey(emailTemplate, new TreeSet<>(variables.keySet())), this::compile);
+        return template == CompiledTemplate.UNSUPPORTED ? process(emailTemplate, variables) : template.render(variables);
+    }
+
+    boolean isCompiled(IEmailTemplate emailTemplate, Set<String> variableNames) {
+        CompiledTemplate template = compiled.get(new TemplateKey(emailTemplate, new TreeSet<>(variableNames)));
+        return template != null && template != CompiledTemplate.UNSUPPORTED;
+    }
+
+    private String process(IEmailTemplate emailTemplate, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(emailTemplate.getName(), context);
+    }
+
+    private CompiledTemplate compile(TemplateKey key) {
+        String[] names = key.variableNames().toArray(String[]::new);
+        String prefix = "tpl" + UUID.randomUUID().toString().replace("-", "");
+
+        Map<String, Object> placeholders = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            placeholders.put(names[i], prefix + "x" + i + "x");
+        }
+        String output = process(key.template(), placeholders);
+
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Matcher matcher = Pattern.compile(prefix + "x(\\d+)x").matcher(output);
+        int staticFrom = 0;
+        while (matcher.find()) {
+            segments.add(output.substring(staticFrom, matcher.start()));
+            slots.add(Integer.parseInt(matcher.group(1)));
+            staticFrom = matcher.end();
+        }
+        segments.add(output.substring(staticFrom));
+
+        CompiledTemplate template = new CompiledTemplate(names, segments.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+
+        // Values that need escaping catch templates whose escaping differs from ours
+        Map<String, Object> samples = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            samples.put(names[i], "<v" + i + " & \"'>");
+        }
+        return template.render(samples).equals(process(key.template(), samples)) ? template : CompiledTemplate.UNSUPPORTED;
+    }
+
+    private record TemplateKey(IEmailTemplate template, Set<String> variableNames) {
+    }
+
+    private static final class CompiledTemplate {
+
+        static final CompiledTemplate UNSUPPORTED = new CompiledTemplate(new String[0], new String[]{""}, new int[0]);
+
+        private final String[] names;
+        private final String[] segments;
+        private final int[] slots;
+        private final int staticLength;
+
+        CompiledTemplate(String[] names, String[] segments, int[] slots) {
+            this.names = names;
+            this.segments = segments;
+            this.slots = slots;
+            int length = 0;
+            for (String segment : segments) {
+                length += segment.length();
+            }
+            this.staticLength = length;
+        }
+
+        String render(Map<String, Object> variables) {
+            StringBuilder html = new StringBuilder(staticLength + slots.length * 32);
+            html.append(segments[0]);
+            for (int i = 0; i < slots.length; i++) {
+                html.append(HtmlUtils.htmlEscape(Objects.toString(variables.get(names[slots[i]])), "UTF-8"));
+                html.append(segments[i + 1]);
+            }
+            return html.toString();
+        }
+    }
+}
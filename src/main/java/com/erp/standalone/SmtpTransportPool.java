@@ -0,0 +1,134 @@
+package com.erp.standalone;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps authenticated SMTP connections to the configured mail server open between batches, so bulk sends skip
+ * the TCP, TLS and AUTH handshakes. Connections are retired after {@code max-messages-per-connection} messages
+ * or {@code max-idle} without use, since servers drop or throttle long-lived sessions.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final int maxIdleConnections;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${application.mail.smtp.pool.max-idle-connections:4}") int maxIdleConnections,
+                             @Value("${application.mail.smtp.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                             @Value("${application.mail.smtp.pool.max-idle:PT30S}") Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.maxIdleConnections = maxIdleConnections;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = maxIdle.toNanos();
+    }
+
+    /**
+     * Returns an idle connection that is still usable, or opens a new one.
+     */
+    public PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (!pooled.isExpired() && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            close(pooled);
+        }
+        return open();
+    }
+
+    public void release(PooledTransport pooled) {
+        if (pooled.isExhausted() || idle.size() >= maxIdleConnections || !idle.offerFirst(pooled)) {
+            close(pooled);
+        }
+    }
+
+    /**
+     * Closes a connection that failed instead of returning it to the pool.
+     */
+    public void invalidate(PooledTransport pooled) {
+        close(pooled);
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol() == null ? "smtp" : mailSender.getProtocol());
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            password = null;
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        connectionsOpened.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    public final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedAt = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            Address[] recipients = message.getAllRecipients();
+            transport.sendMessage(message, recipients == null ? new Address[0] : recipients);
+            messagesSent++;
+            lastUsedAt = System.nanoTime();
+        }
+
+        public boolean isExhausted() {
+            return messagesSent >= maxMessagesPerConnection;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - lastUsedAt > maxIdleNanos;
+        }
+    }
+}
@@ -27,6 +27,11 @@ public class ExceptionUtils {
                     e.getMessage(),
                     HttpStatus.CONFLICT,
                     null);
+        } else if (e instanceof TooManyRequestsException) {
+            return ApiResponse.fail(
+                    e.getMessage(),
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    null);
         } else if (e instanceof InternalServerErrorException) {
             return ApiResponse.fail(
                     e.getMessage(),
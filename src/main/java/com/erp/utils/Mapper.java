@@ -1,17 +0,0 @@
-package com.erp.utils;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
-
-public class Mapper {
-
-    private static final ModelMapper modelMapper = new ModelMapper();
-
-    static {
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-    }
-
-    public static ModelMapper getMapper() {
-        return modelMapper;
-    }
-}
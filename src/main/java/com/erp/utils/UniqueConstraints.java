@@ -0,0 +1,64 @@
+package com.erp.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Writes that rely on the database unique constraints instead of a {@code findByX(...).isPresent()} before each
+ * insert. The lookup costs a round trip and still lets two concurrent requests through; the constraint does
+ * neither. The write must reach the database inside {@code write}, e.g. through {@code saveAndFlush}.
+ */
+public final class UniqueConstraints {
+
+    public static final String USERS_EMAIL = "uk_users_email";
+    public static final String USERS_PHONE_NUMBER = "uk_users_phone_number";
+    public static final String USERS_NATIONAL_ID = "uk_users_national_id";
+    public static final String EMPLOYEES_CODE = "uk_employees_code";
+    public static final String EMPLOYEES_USER = "uk_employees_user";
+    public static final String EMPLOYMENTS_CODE = "uk_employments_code";
+    public static final String DEDUCTIONS_CODE = "uk_deductions_code";
+    public static final String DEDUCTIONS_NAME = "uk_deductions_name";
+    public static final String ROLES_NAME = "uk_roles_name";
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * Runs {@code write} and rethrows a violation of one of the keys of {@code violations} as the exception
+     * supplied for it. Any other failure is rethrown unchanged.
+     */
+    public static <T> T write(Supplier<T> write, Map<String, Supplier<? extends RuntimeException>> violations) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedConstraint(e, violations);
+            Supplier<? extends RuntimeException> translated = constraint == null ? null : violations.get(constraint);
+            if (translated == null) {
+                throw e;
+            }
+            RuntimeException exception = translated.get();
+            exception.addSuppressed(e);
+            throw exception;
+        }
+    }
+
+    private static String violatedConstraint(DataIntegrityViolationException e, Map<String, ?> constraints) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase();
+            }
+        }
+        // Writes through JdbcTemplate only carry the driver's message, which quotes the constraint name
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        for (String constraint : constraints.keySet()) {
+            if (message.contains('"' + constraint + '"')) {
+                return constraint;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.erp.utils.pagination;
+
+import com.erp.dtos.response.CursorPage;
+import com.erp.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Translates between the opaque {@code cursor}/{@code size} request parameters and Spring Data keyset scrolling.
+ * A cursor is the URL-safe Base64 of the sort keys of the last row returned, e.g. {@code createdDate=...&id=...}.
+ */
+@Component
+public class CursorPagination {
+
+    private static final String CREATED_DATE = "createdDate";
+    private static final String ID = "id";
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorPagination(@Value("${application.pagination.default-size:50}") int defaultSize,
+                            @Value("${application.pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public CursorRequest request(String cursor, Integer size) {
+        int pageSize = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(decode(cursor));
+        return new CursorRequest(position, Limit.of(pageSize));
+    }
+
+    public <T, R> CursorPage<R> page(Window<T> window, Function<T, R> mapper) {
+        List<R> items = window.stream().map(mapper).toList();
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+
+        return CursorPage.<R>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String encode(KeysetScrollPosition position) {
+        StringBuilder keys = new StringBuilder();
+        position.getKeys().forEach((key, value) -> {
+            if (!keys.isEmpty()) {
+                keys.append('&');
+            }
+            keys.append(key).append('=').append(value);
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> decode(String cursor) {
+        try {
+            String keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String pair : keys.split("&")) {
+                int separator = pair.indexOf('=');
+                String key = pair.substring(0, separator);
+                String value = pair.substring(separator + 1);
+                switch (key) {
+                    case CREATED_DATE -> values.put(key, LocalDateTime.parse(value));
+                    case ID -> values.put(key, UUID.fromString(value));
+                    default -> throw new IllegalArgumentException("Unknown cursor key " + key);
+                }
+            }
+            return values;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.erp.utils.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A resolved keyset page request: where to continue from and how many rows to return.
+ */
+public record CursorRequest(ScrollPosition position, Limit limit) {
+
+    /** Newest first. The id breaks ties so the order is total, which keyset pagination requires. */
+    public static final Sort BY_CREATED_DATE = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+
+    /** For entities without audit columns. */
+    public static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+}
@@ -0,0 +1,120 @@
+-- Schema as previously generated by Hibernate from the entities. Databases that already have these tables
+-- are baselined at this version (see FlywayConfig) and start migrating from V2.
+
+create table roles (
+    id        uuid not null,
+    role_name varchar(255),
+    constraint pk_roles primary key (id)
+);
+
+create table users (
+    id                                uuid    not null,
+    first_name                        varchar(255),
+    last_name                         varchar(255),
+    phone_number                      varchar(255),
+    national_id                       varchar(255),
+    email                             varchar(255),
+    password                          varchar(255),
+    account_status                    varchar(255),
+    is_verified                       boolean not null default false,
+    password_reset_code               varchar(255),
+    password_reset_code_generated_at  timestamp(6),
+    verification_code                 varchar(255),
+    verification_code_generated_at    timestamp(6),
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_phone_number unique (phone_number),
+    constraint uk_users_national_id unique (national_id)
+);
+
+create table user_roles (
+    user_id uuid not null,
+    role_id uuid not null,
+    constraint pk_user_roles primary key (user_id, role_id),
+    constraint fk_user_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_roles_role foreign key (role_id) references roles (id)
+);
+
+create table employees (
+    id                 uuid not null,
+    code               varchar(255),
+    user_id            uuid,
+    date_of_birth      date,
+    status             varchar(255),
+    created_date       timestamp(6),
+    created_by         uuid,
+    last_modified_date timestamp(6),
+    last_modified_by   uuid,
+    constraint pk_employees primary key (id),
+    constraint uk_employees_code unique (code),
+    constraint uk_employees_user unique (user_id),
+    constraint fk_employees_user foreign key (user_id) references users (id)
+);
+
+create table employments (
+    id                 uuid not null,
+    code               varchar(255),
+    employee_id        uuid,
+    department         varchar(255),
+    position           varchar(255),
+    base_salary        numeric(38, 2),
+    status             varchar(255),
+    joining_date       date,
+    created_date       timestamp(6),
+    created_by         uuid,
+    last_modified_date timestamp(6),
+    last_modified_by   uuid,
+    constraint pk_employments primary key (id),
+    constraint uk_employments_code unique (code),
+    constraint fk_employments_employee foreign key (employee_id) references employees (id)
+);
+
+create table deductions (
+    id                 uuid not null,
+    code               varchar(255),
+    name               varchar(255),
+    percentage         numeric(38, 2),
+    created_date       timestamp(6),
+    created_by         uuid,
+    last_modified_date timestamp(6),
+    last_modified_by   uuid,
+    constraint pk_deductions primary key (id),
+    constraint uk_deductions_code unique (code),
+    constraint uk_deductions_name unique (name)
+);
+
+create table messages (
+    id                 uuid not null,
+    employee_id        uuid,
+    message            text,
+    month_year         varchar(255),
+    sent_at            timestamp(6),
+    created_date       timestamp(6),
+    created_by         uuid,
+    last_modified_date timestamp(6),
+    last_modified_by   uuid,
+    constraint pk_messages primary key (id),
+    constraint fk_messages_employee foreign key (employee_id) references employees (id)
+);
+
+create table payslips (
+    id                       uuid not null,
+    employee_id              uuid,
+    housing_amount           numeric(38, 2),
+    transport_amount         numeric(38, 2),
+    employee_tax_amount      numeric(38, 2),
+    pension_amount           numeric(38, 2),
+    medical_insurance_amount numeric(38, 2),
+    other_deductions         numeric(38, 2),
+    gross_salary             numeric(38, 2),
+    net_salary               numeric(38, 2),
+    month                    integer,
+    year                     integer,
+    status                   varchar(255),
+    created_date             timestamp(6),
+    created_by               uuid,
+    last_modified_date       timestamp(6),
+    last_modified_by         uuid,
+    constraint pk_payslips primary key (id),
+    constraint fk_payslips_employee foreign key (employee_id) references employees (id)
+);
@@ -0,0 +1,21 @@
+-- Indexes behind the repository lookups on the payroll hot paths.
+-- IF NOT EXISTS keeps the migration safe on databases where some of them were created by hand.
+
+-- One payslip per employee and period; also serves findByEmployee* and existsByEmployeeAndMonthAndYear.
+-- Fails on databases that already hold duplicate payslips, which must be cleaned up first.
+create unique index if not exists ux_payslips_employee_period on payslips (employee_id, month, year);
+
+-- findByMonthAndYear[AndStatus], countByMonthAndYearAndStatus, findEmployeeIdsByMonthAndYear and the export.
+create index if not exists ix_payslips_period_status on payslips (month, year, status);
+
+-- findByStatus
+create index if not exists ix_payslips_status on payslips (status);
+
+-- findByEmployeeAndStatusOrderByJoiningDateDesc (the active employment used for payroll)
+create index if not exists ix_employments_employee_status_joining on employments (employee_id, status, joining_date desc);
+
+-- findByEmployeeAndMonthYear
+create index if not exists ix_messages_employee_month_year on messages (employee_id, month_year);
+
+-- findByVerificationCode
+create index if not exists ix_users_verification_code on users (verification_code);
@@ -0,0 +1,19 @@
+-- Emails are written here in the same transaction as the change that triggers them and sent by EmailOutboxWorker.
+-- Rows are deleted once sent; rows that exhaust their attempts stay behind with status DEAD.
+create table email_outbox (
+    id              uuid         not null,
+    recipient       varchar(320) not null,
+    username        varchar(255),
+    subject         varchar(255) not null,
+    template        varchar(64)  not null,
+    variables       text         not null,
+    status          varchar(16)  not null,
+    attempts        integer      not null default 0,
+    next_attempt_at timestamp(6) not null,
+    last_error      text,
+    created_date    timestamp(6) not null,
+    constraint pk_email_outbox primary key (id)
+);
+
+-- The worker only ever looks for pending rows that are due
+create index ix_email_outbox_due on email_outbox (next_attempt_at) where status = 'PENDING';
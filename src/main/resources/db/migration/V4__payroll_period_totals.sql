@@ -0,0 +1,39 @@
+-- Payslips record the department they were generated for, so period totals do not depend on later transfers.
+alter table payslips add column department varchar(255);
+
+-- Existing payslips take the department of the employee's latest active employment, as a payroll run would
+update payslips p
+set department = coalesce((select e.department
+                           from employments e
+                           where e.employee_id = p.employee_id
+                             and e.status = 'ACTIVE'
+                           order by e.joining_date desc
+                           limit 1), 'UNASSIGNED');
+
+-- Running totals per period, department and status. PayrollPeriodTotalsRepository adjusts them in the same
+-- transaction as every payslip insert and status change, so summaries never scan payslips.
+create table payroll_period_totals (
+    year                     integer        not null,
+    month                    integer        not null,
+    department               varchar(255)   not null,
+    status                   varchar(255)   not null,
+    payslip_count            bigint         not null,
+    gross_salary             numeric(38, 2) not null,
+    net_salary               numeric(38, 2) not null,
+    employee_tax_amount      numeric(38, 2) not null,
+    pension_amount           numeric(38, 2) not null,
+    medical_insurance_amount numeric(38, 2) not null,
+    housing_amount           numeric(38, 2) not null,
+    transport_amount         numeric(38, 2) not null,
+    other_deductions         numeric(38, 2) not null,
+    constraint pk_payroll_period_totals primary key (year, month, department, status)
+);
+
+insert into payroll_period_totals
+select year, month, department, status, count(*),
+       coalesce(sum(gross_salary), 0), coalesce(sum(net_salary), 0), coalesce(sum(employee_tax_amount), 0),
+       coalesce(sum(pension_amount), 0), coalesce(sum(medical_insurance_amount), 0), coalesce(sum(housing_amount), 0),
+       coalesce(sum(transport_amount), 0), coalesce(sum(other_deductions), 0)
+from payslips
+where year is not null and month is not null and status is not null
+group by year, month, department, status;
@@ -0,0 +1,10 @@
+-- Indexes behind the delta recompute of pending payslips.
+
+-- The oldest pending payslip of a period, read as a single index probe. It bounds which changes can affect the period.
+create index if not exists ix_payslips_pending_computed
+    on payslips (month, year, (coalesce(last_modified_date, created_date)))
+    where status = 'PENDING';
+
+-- Employments created or changed since that bound
+create index if not exists ix_employments_modified
+    on employments ((coalesce(last_modified_date, created_date)));
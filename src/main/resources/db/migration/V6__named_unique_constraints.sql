@@ -0,0 +1,30 @@
+-- Services now insert first and translate unique violations by constraint name (see UniqueConstraints), so the
+-- names must match V1. Databases baselined from a Hibernate-built schema carry generated names such as
+-- uk_6dotkott2kjsp8vw4d0m25fb7; those constraints are renamed in place.
+do $$
+declare
+    c record;
+begin
+    for c in
+        select cls.relname as table_name, con.conname as current_name, expected.name as expected_name
+        from (values ('users', 'email', 'uk_users_email'),
+                     ('users', 'phone_number', 'uk_users_phone_number'),
+                     ('users', 'national_id', 'uk_users_national_id'),
+                     ('employees', 'code', 'uk_employees_code'),
+                     ('employees', 'user_id', 'uk_employees_user'),
+                     ('employments', 'code', 'uk_employments_code'),
+                     ('deductions', 'code', 'uk_deductions_code'),
+                     ('deductions', 'name', 'uk_deductions_name')) as expected (table_name, column_name, name)
+        join pg_class cls on cls.relname = expected.table_name and cls.relnamespace = current_schema()::regnamespace
+        join pg_constraint con on con.conrelid = cls.oid and con.contype = 'u' and array_length(con.conkey, 1) = 1
+        join pg_attribute att on att.attrelid = cls.oid and att.attnum = con.conkey[1] and att.attname = expected.column_name
+        where con.conname <> expected.name
+          and not exists (select 1 from pg_constraint existing where existing.conrelid = cls.oid and existing.conname = expected.name)
+    loop
+        execute format('alter table %I rename constraint %I to %I', c.table_name, c.current_name, c.expected_name);
+    end loop;
+end $$;
+
+-- One row per role; createRole relies on it instead of looking the role up first.
+-- Fails on databases that already hold duplicate roles, which must be cleaned up first.
+alter table roles add constraint uk_roles_name unique (role_name);
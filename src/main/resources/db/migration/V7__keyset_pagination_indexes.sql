@@ -0,0 +1,26 @@
+-- Indexes behind the keyset-paged list reads, which order by (created_date desc, id desc) and continue from the
+-- last row returned. Each serves the filter and the order, so a page is read from the index without sorting the
+-- whole filtered set. B-tree indexes are scanned backwards for the descending order.
+
+-- Unfiltered payslip pages
+create index if not exists ix_payslips_created on payslips (created_date, id);
+
+-- findByEmployee
+create index if not exists ix_payslips_employee_created on payslips (employee_id, created_date, id);
+
+-- findByStatus
+create index if not exists ix_payslips_status_created on payslips (status, created_date, id);
+
+-- findByMonthAndYear
+create index if not exists ix_payslips_period_created on payslips (month, year, created_date, id);
+
+-- findAllBy (message pages)
+create index if not exists ix_messages_created on messages (created_date, id);
+
+-- Messages of one employee, newest first
+create index if not exists ix_messages_employee_created on messages (employee_id, created_date, id);
+
+-- findAllBy of employees, employments and deductions
+create index if not exists ix_employees_created on employees (created_date, id);
+create index if not exists ix_employments_created on employments (created_date, id);
+create index if not exists ix_deductions_created on deductions (created_date, id);
@@ -0,0 +1,4 @@
+-- The payroll export reads a period in payslip id order and resumes after the last id it returned
+-- (where month = ? and year = ? and id > ? order by id limit ?). With the id in the index each chunk starts
+-- with an index probe and stops after its limit, instead of reading and sorting the whole period.
+create index if not exists ix_payslips_period_id on payslips (month, year, id);
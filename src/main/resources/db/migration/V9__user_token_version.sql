@@ -0,0 +1,3 @@
+-- Access tokens carry the user's token version and are rejected once it has been bumped (see TokenVersionService).
+-- Not part of V1: databases baselined from a Hibernate-built schema never run it and would lack the column.
+alter table users add column if not exists token_version bigint not null default 0;
@@ -2,12 +2,14 @@ package com.erp;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 
 @SpringBootTest
+@Import(TestcontainersConfiguration.class)
 class EnterpriseResourcePlanningApplicationTests {
 
     @Test
     void contextLoads() {
     }
 
-}
\ No newline at end of file
+}
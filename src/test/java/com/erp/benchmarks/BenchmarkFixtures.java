@@ -0,0 +1,167 @@
+package com.erp.benchmarks;
+
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EDeductionType;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Deduction;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+import com.erp.models.Role;
+import com.erp.models.User;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayslipCalculator;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deterministic test data shared by the benchmarks. Everything is derived from {@link #SEED} so
+ * results from different runs and machines are measured against identical inputs.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 42L;
+
+    static final String JWT_SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The default deduction table seeded at application startup.
+     */
+    static DeductionRuleSet defaultRules() {
+        return DeductionRuleSet.compile(1, List.of(
+                deduction(EDeductionType.EMPLOYEE_TAX, "30"),
+                deduction(EDeductionType.PENSION, "6"),
+                deduction(EDeductionType.MEDICAL_INSURANCE, "5"),
+                deduction(EDeductionType.HOUSING, "14"),
+                deduction(EDeductionType.TRANSPORT, "14"),
+                deduction(EDeductionType.OTHERS, "5")
+        ));
+    }
+
+    static BigDecimal[] salaries(int count) {
+        Random random = new Random(SEED);
+        BigDecimal[] salaries = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            salaries[i] = BigDecimal.valueOf(100_000_00L + random.nextInt(5_000_000_00), 2);
+        }
+        return salaries;
+    }
+
+    static Employment[] employments(int count) {
+        Random random = new Random(SEED);
+        BigDecimal[] salaries = salaries(count);
+        Employment[] employments = new Employment[count];
+        for (int i = 0; i < count; i++) {
+            employments[i] = Employment.builder()
+                    .id(new UUID(SEED, i))
+                    .code(String.format("EMP-%06d", i))
+                    .employee(employee(random, i))
+                    .department("DEPT-" + random.nextInt(20))
+                    .position("Officer")
+                    .baseSalary(salaries[i])
+                    .status(EEmploymentStatus.ACTIVE)
+                    .joiningDate(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500)))
+                    .build();
+        }
+        return employments;
+    }
+
+    static Payslip[] payslips(int count) {
+        Employment[] employments = employments(count);
+        DeductionRuleSet rules = defaultRules();
+        Payslip[] payslips = new Payslip[count];
+        for (int i = 0; i < count; i++) {
+            Payslip payslip = PayslipCalculator.calculate(
+                    employments[i].getEmployee(), employments[i], rules, 6, 2024);
+            payslip.setId(new UUID(SEED + 1, i));
+            payslip.setStatus(i % 2 == 0 ? EPayslipStatus.PENDING : EPayslipStatus.PAID);
+            payslip.setCreatedDate(LocalDateTime.of(2024, 6, 30, 12, 0));
+            payslips[i] = payslip;
+        }
+        return payslips;
+    }
+
+    static User user(int index) {
+        return employee(new Random(SEED + index), index).getUser();
+    }
+
+    /**
+     * A Thymeleaf engine resolving the email templates from the classpath, as Spring Boot configures it.
+     */
+    static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        return templateEngine;
+    }
+
+    /**
+     * The variables of one salary payment notification, as built by {@code MessageServiceImpl} and {@code EmailService}.
+     */
+    static Map<String, Object> salaryNotificationVariables(int index) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("firstName", "Employee" + index);
+        variables.put("monthYear", "5/2024");
+        variables.put("amount", new BigDecimal(150_000 + index).setScale(2).toString());
+        variables.put("employeeId", String.format("EMP%06d", index));
+        variables.put("payslipId", new UUID(SEED, index).toString());
+        variables.put("baseUrl", "http://localhost:8000/api/v1");
+        variables.put("username", "Employee" + index);
+        variables.put("supportEmail", "contact@nzabera.com");
+        variables.put("currentYear", 2024);
+        return variables;
+    }
+
+    private static Employee employee(Random random, int index) {
+        User user = User.builder()
+                .id(new UUID(SEED + 2, index))
+                .firstName("First" + index)
+                .lastName("Last" + index)
+                .email("employee" + index + "@example.com")
+                .phoneNumber(String.format("0788%06d", index))
+                .nationalId(String.format("1199%012d", index))
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3jqk5xvBPxj6QKx6D3e1B6S")
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(random.nextInt(10) == 0
+                        ? Set.of(role(ERole.ROLE_EMPLOYEE), role(ERole.ROLE_MANAGER))
+                        : Set.of(role(ERole.ROLE_EMPLOYEE)))
+                .build();
+
+        return Employee.builder()
+                .id(new UUID(SEED + 3, index))
+                .code(String.format("E%06d", index))
+                .user(user)
+                .dateOfBirth(LocalDate.of(1970, 1, 1).plusDays(random.nextInt(12_000)))
+                .status(EEmployeeStatus.ACTIVE)
+                .build();
+    }
+
+    private static Role role(ERole name) {
+        return Role.builder().id(UUID.nameUUIDFromBytes(name.name().getBytes())).name(name).build();
+    }
+
+    private static Deduction deduction(EDeductionType type, String percentage) {
+        return Deduction.builder().name(type.getDeductionName()).percentage(new BigDecimal(percentage)).build();
+    }
+}
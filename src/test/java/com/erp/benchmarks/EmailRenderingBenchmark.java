@@ -0,0 +1,65 @@
+package com.erp.benchmarks;
+
+import com.erp.enums.IEmailTemplate;
+import com.erp.standalone.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the salary payment notifications of a 50k employee approval, through the Thymeleaf engine
+ * and through the precompiled templates of {@link EmailTemplateRenderer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private static final int NOTIFICATIONS = 50_000;
+
+    private EmailTemplateRenderer thymeleaf;
+    private EmailTemplateRenderer precompiled;
+    private Map<String, Object>[] variables;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        thymeleaf = new EmailTemplateRenderer(BenchmarkFixtures.templateEngine(), false);
+        precompiled = new EmailTemplateRenderer(BenchmarkFixtures.templateEngine(), true);
+        variables = new Map[NOTIFICATIONS];
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            variables[i] = BenchmarkFixtures.salaryNotificationVariables(i);
+        }
+        // Parse and compile outside the measurement
+        thymeleaf.render(IEmailTemplate.SALARY_PAYMENT, variables[0]);
+        precompiled.render(IEmailTemplate.SALARY_PAYMENT, variables[0]);
+    }
+
+    @Benchmark
+    public void thymeleaf(Blackhole blackhole) {
+        for (Map<String, Object> recipient : variables) {
+            blackhole.consume(thymeleaf.render(IEmailTemplate.SALARY_PAYMENT, recipient));
+        }
+    }
+
+    @Benchmark
+    public void precompiled(Blackhole blackhole) {
+        for (Map<String, Object> recipient : variables) {
+            blackhole.consume(precompiled.render(IEmailTemplate.SALARY_PAYMENT, recipient));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.erp.benchmarks;
+
+import com.erp.enums.IEmailTemplate;
+import com.erp.repositories.projections.OutboxEmail;
+import com.erp.standalone.BulkMailDispatcher;
+import com.erp.standalone.EmailService;
+import com.erp.standalone.EmailTemplateRenderer;
+import com.erp.standalone.SmtpTransportPool;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sending a batch of salary notifications to a local GreenMail SMTP server, through {@link BulkMailDispatcher}
+ * over pooled connections and with one connection per email, the way {@code EmailService.sendEmail} sends.
+ * Scores are messages per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailDispatchBenchmark {
+
+    private static final int EMAILS = 200;
+    private static final int MESSAGES_PER_CONNECTION = 100;
+
+    private GreenMail greenMail;
+    private EmailService emailService;
+    private SmtpTransportPool transportPool;
+    private BulkMailDispatcher dispatcher;
+    private List<OutboxEmail> emails;
+
+    @Setup
+    public void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        emailService = new EmailService(mailSender, new EmailTemplateRenderer(BenchmarkFixtures.templateEngine(), true));
+        transportPool = new SmtpTransportPool(mailSender, 4, MESSAGES_PER_CONNECTION, Duration.ofSeconds(30));
+        dispatcher = new BulkMailDispatcher(emailService, transportPool, 0);
+
+        emails = new ArrayList<>(EMAILS);
+        for (int i = 0; i < EMAILS; i++) {
+            emails.add(new OutboxEmail(new UUID(BenchmarkFixtures.SEED, i), "employee" + i + "@example.com", "Employee" + i,
+                    "Salary Payment Notification", IEmailTemplate.SALARY_PAYMENT, BenchmarkFixtures.salaryNotificationVariables(i), 1));
+        }
+    }
+
+    // GreenMail keeps every message it receives
+    @TearDown(Level.Iteration)
+    public void purgeMailboxes() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transportPool.shutdown();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMAILS)
+    public void pooled(Blackhole blackhole) {
+        blackhole.consume(dispatcher.sendAll(emails));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMAILS)
+    public void connectionPerEmail() throws MessagingException {
+        for (OutboxEmail email : emails) {
+            emailService.sendEmail(email.recipient(), email.username(), email.subject(), email.template(), email.variables());
+        }
+    }
+}
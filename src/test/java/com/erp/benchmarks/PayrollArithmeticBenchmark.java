@@ -0,0 +1,59 @@
+package com.erp.benchmarks;
+
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayrollArithmetic;
+import com.erp.services.payroll.PayslipAmounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fixed-point payslip kernel with the {@link BigDecimal} computation it replaced.
+ * Run with {@code -prof gc} to compare allocation per payslip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollArithmeticBenchmark {
+
+    private static final int SALARIES = 1024;
+
+    private DeductionRuleSet rules;
+    private BigDecimal[] salaries;
+
+    @Setup
+    public void setUp() {
+        rules = BenchmarkFixtures.defaultRules();
+        salaries = BenchmarkFixtures.salaries(SALARIES);
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        for (BigDecimal salary : salaries) {
+            PayslipAmounts amounts = PayrollArithmetic.compute(salary, rules);
+            blackhole.consume(amounts);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (BigDecimal salary : salaries) {
+            PayslipAmounts amounts = PayrollArithmetic.computeExact(salary, rules);
+            blackhole.consume(amounts);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.erp.benchmarks;
+
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.enums.EDeductionType;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayrollSimulator;
+import com.erp.services.payroll.PayrollSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to answer one what-if question (Pension 6% to 8%) over 100k employees from an in-memory snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollSimulationBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+    private static final int DEPARTMENTS = 40;
+
+    private PayrollSnapshot snapshot;
+    private DeductionRuleSet current;
+    private DeductionRuleSet simulated;
+
+    @Setup
+    public void setUp() {
+        PayrollSnapshot.Builder builder = PayrollSnapshot.builder();
+        BigDecimal[] salaries = BenchmarkFixtures.salaries(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            builder.add(salaries[i], "Department" + (i % DEPARTMENTS));
+        }
+        snapshot = builder.build();
+        current = BenchmarkFixtures.defaultRules();
+        simulated = current.withPercentages(Map.of(EDeductionType.PENSION, new BigDecimal("8")));
+    }
+
+    @Benchmark
+    public PayrollSimulationResultDTO simulate() {
+        return PayrollSimulator.simulate(snapshot, current, simulated);
+    }
+}
@@ -0,0 +1,48 @@
+package com.erp.benchmarks;
+
+import com.erp.models.Employment;
+import com.erp.services.payroll.DeductionRuleSet;
+import com.erp.services.payroll.PayslipCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-employee work done by {@code generatePayslip} and the payroll runs once the inputs are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayslipCalculationBenchmark {
+
+    private static final int EMPLOYMENTS = 1024;
+
+    private DeductionRuleSet rules;
+    private Employment[] employments;
+
+    @Setup
+    public void setUp() {
+        rules = BenchmarkFixtures.defaultRules();
+        employments = BenchmarkFixtures.employments(EMPLOYMENTS);
+    }
+
+    @Benchmark
+    public void calculate(Blackhole blackhole) {
+        for (Employment employment : employments) {
+            blackhole.consume(PayslipCalculator.calculate(employment.getEmployee(), employment, rules, 6, 2024));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.erp.repositories;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Message;
+import com.erp.models.Payslip;
+import com.erp.models.User;
+import com.erp.services.IEmployeeService;
+import com.erp.services.IEmploymentService;
+import com.erp.services.IMessageService;
+import com.erp.services.IPayrollService;
+import com.erp.utils.pagination.CursorPagination;
+import com.erp.utils.pagination.CursorRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements behind each list read, walking the same associations the response DTOs do. The counts must
+ * not depend on the page size, so a page of {@link #EMPLOYEES} rows costs as much as a page of one.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanQueryCountTest {
+
+    private static final int EMPLOYEES = 20;
+    private static final int MONTH = 3;
+    private static final int YEAR = 2031;
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayslipRepository payslipRepository;
+    @Autowired
+    private IMessageRepository messageRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private IMessageService messageService;
+    @Autowired
+    private IEmploymentService employmentService;
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private CursorPagination cursorPagination;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID firstEmployeeId;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            var role = roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                String suffix = UUID.randomUUID().toString();
+                User user = userRepository.save(User.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email(suffix + "@example.com")
+                        .phoneNumber(suffix)
+                        .nationalId(suffix)
+                        .accountStatus(EAccountStatus.ACTIVE)
+                        .roles(Set.of(role))
+                        .build());
+                Employee employee = employeeRepository.save(Employee.builder()
+                        .code("EMP-" + suffix)
+                        .user(user)
+                        .dateOfBirth(LocalDate.of(1990, 1, 1))
+                        .status(EEmployeeStatus.ACTIVE)
+                        .build());
+                if (firstEmployeeId == null) {
+                    firstEmployeeId = employee.getId();
+                }
+                employmentRepository.save(Employment.builder()
+                        .code("EMPL-" + suffix)
+                        .employee(employee)
+                        .department("Finance")
+                        .position("Analyst")
+                        .baseSalary(new BigDecimal("100000.00"))
+                        .status(EEmploymentStatus.ACTIVE)
+                        .joiningDate(LocalDate.of(2020, 1, 1))
+                        .build());
+                payslipRepository.save(Payslip.builder()
+                        .employee(employee)
+                        .grossSalary(new BigDecimal("100000.00"))
+                        .netSalary(new BigDecimal("80000.00"))
+                        .month(MONTH)
+                        .year(YEAR)
+                        .status(EPayslipStatus.PENDING)
+                        .build());
+                messageRepository.save(Message.builder()
+                        .employee(employee)
+                        .message("Salary paid")
+                        .monthYear(MONTH + "/" + YEAR)
+                        .sentAt(LocalDateTime.now())
+                        .build());
+            }
+        });
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void payslipPageLoadsEmployeesAndUsersInOneQuery() {
+        long statements = countStatements(() -> {
+            Window<Payslip> payslips = payrollService.findPayslipsByMonthAndYear(MONTH, YEAR, firstPage());
+            payslips.forEach(payslip -> payslip.getEmployee().getUser().getEmail());
+            return payslips.size();
+        });
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void messagePageLoadsEmployeesAndUsersInOneQuery() {
+        long statements = countStatements(() -> {
+            Window<Message> messages = messageService.findAllMessages(firstPage());
+            messages.forEach(message -> message.getEmployee().getUser().getEmail());
+            return messages.size();
+        });
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void employmentPageLoadsEmployeesAndUsersInOneQuery() {
+        long statements = countStatements(() -> {
+            Window<Employment> employments = employmentService.findAllEmployments(firstPage());
+            employments.forEach(employment -> employment.getEmployee().getUser().getEmail());
+            return employments.size();
+        });
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void employeePageLoadsRolesOfThePageInOneExtraQuery() {
+        long statements = countStatements(() -> {
+            Window<Employee> employees = employeeService.findAllEmployees(firstPage());
+            employees.forEach(employee -> employee.getUser().getRoles().size());
+            return employees.size();
+        });
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void employeeScopedReadsDoNotSelectTheEmployeeFirst() {
+        long payslipStatements = countStatements(1, () -> {
+            Employee employee = employeeService.getEmployeeReference(firstEmployeeId);
+            return payrollService.findPayslipsByEmployee(employee, firstPage()).size();
+        });
+        long messageStatements = countStatements(1, () -> {
+            Employee employee = employeeService.getEmployeeReference(firstEmployeeId);
+            return messageService.findMessagesByEmployee(employee).size();
+        });
+        long employmentStatements = countStatements(1, () -> {
+            Employee employee = employeeService.getEmployeeReference(firstEmployeeId);
+            return employmentService.findEmploymentsByEmployee(employee).size();
+        });
+
+        assertThat(payslipStatements).isEqualTo(1);
+        assertThat(messageStatements).isEqualTo(1);
+        assertThat(employmentStatements).isEqualTo(1);
+    }
+
+    private CursorRequest firstPage() {
+        return cursorPagination.request(null, EMPLOYEES);
+    }
+
+    /**
+     * Runs the read in its own transaction, so lazy associations resolve as they would under open-in-view, and
+     * returns the number of JDBC statements it prepared.
+     */
+    private long countStatements(Supplier<Integer> read) {
+        return countStatements(EMPLOYEES, read);
+    }
+
+    private long countStatements(int expectedRows, Supplier<Integer> read) {
+        statistics.clear();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Integer rows = readOnly.execute(status -> read.get());
+        assertThat(rows).isEqualTo(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,138 @@
+package com.erp.repositories;
+
+import com.erp.TestcontainersConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, validates them against the entity mappings and checks that the
+ * repository lookups can use the indexes from V2, the keyset pagination indexes from V7 and the export index from
+ * V8. Sequential scans are disabled for each EXPLAIN because the planner would otherwise prefer them on the
+ * near-empty test tables.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class HotPathIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void payslipByEmployeeAndPeriodUsesUniqueIndex() {
+        assertThat(explain("select * from payslips where employee_id = '" + UUID.randomUUID() + "' and month = 5 and year = 2024"))
+                .contains("ux_payslips_employee_period");
+    }
+
+    @Test
+    void payslipsByPeriodAndStatusUsePeriodIndex() {
+        assertThat(explain("select * from payslips where month = 5 and year = 2024 and status = 'PENDING'"))
+                .contains("ix_payslips_period_status");
+        assertThat(explain("select count(*) from payslips where month = 5 and year = 2024 and status = 'PAID'"))
+                .contains("ix_payslips_period_status");
+    }
+
+    @Test
+    void payslipsByStatusUseStatusIndex() {
+        assertThat(explain("select * from payslips where status = 'PAID'"))
+                .contains("ix_payslips_status");
+    }
+
+    @Test
+    void activeEmploymentLookupUsesIndexWithoutSort() {
+        String plan = explain("select * from employments where employee_id = '" + UUID.randomUUID() + "' " +
+                "and status = 'ACTIVE' order by joining_date desc limit 1");
+        assertThat(plan).contains("ix_employments_employee_status_joining");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void messagesByEmployeeAndMonthUseIndex() {
+        assertThat(explain("select * from messages where employee_id = '" + UUID.randomUUID() + "' and month_year = '05-2024'"))
+                .contains("ix_messages_employee_month_year");
+    }
+
+    @Test
+    void userByVerificationCodeUsesIndex() {
+        assertThat(explain("select * from users where verification_code = 'abc123'"))
+                .contains("ix_users_verification_code");
+    }
+
+    @Test
+    void payslipPagesReadKeysetIndexesWithoutSort() {
+        assertKeysetPage("payslips", "true", "ix_payslips_created");
+        assertKeysetPage("payslips", "employee_id = '" + UUID.randomUUID() + "'", "ix_payslips_employee_created");
+        assertKeysetPage("payslips", "status = 'PAID'", "ix_payslips_status_created");
+        assertKeysetPage("payslips", "month = 5 and year = 2024", "ix_payslips_period_created");
+    }
+
+    @Test
+    void messagePagesReadKeysetIndexesWithoutSort() {
+        assertKeysetPage("messages", "true", "ix_messages_created");
+        assertKeysetPage("messages", "employee_id = '" + UUID.randomUUID() + "'", "ix_messages_employee_created");
+    }
+
+    @Test
+    void employeeEmploymentAndDeductionPagesReadKeysetIndexesWithoutSort() {
+        assertKeysetPage("employees", "true", "ix_employees_created");
+        assertKeysetPage("employments", "true", "ix_employments_created");
+        assertKeysetPage("deductions", "true", "ix_deductions_created");
+    }
+
+    @Test
+    void exportChunkReadsPeriodIdIndexWithoutSort() {
+        String plan = explain("select * from payslips where month = 5 and year = 2024 and id > '" + UUID.randomUUID() + "' " +
+                "order by id limit 1000");
+        assertThat(plan).contains("ix_payslips_period_id");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void duplicatePayslipForPeriodIsRejected() {
+        UUID employeeId = UUID.randomUUID();
+        jdbcTemplate.update("insert into employees (id, code) values (?, ?)", employeeId, "EMP-" + employeeId);
+        String insert = "insert into payslips (id, employee_id, month, year, status) values (?, ?, 5, 2024, 'PENDING')";
+        jdbcTemplate.update(insert, UUID.randomUUID(), employeeId);
+
+        assertThatThrownBy(() -> jdbcTemplate.update(insert, UUID.randomUUID(), employeeId))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    /**
+     * Checks the first page and a continuation page, which adds the keyset predicate Spring Data generates for
+     * {@code CursorRequest.BY_CREATED_DATE}.
+     */
+    private void assertKeysetPage(String table, String filter, String index) {
+        String order = " order by created_date desc, id desc limit 50";
+        String after = " and (created_date < '2024-05-01 12:00:00' or (created_date = '2024-05-01 12:00:00' and id < '"
+                + UUID.randomUUID() + "'))";
+        for (String sql : List.of(
+                "select * from " + table + " where " + filter + order,
+                "select * from " + table + " where " + filter + after + order)) {
+            String plan = explain(sql);
+            assertThat(plan).as(sql).contains(index);
+            assertThat(plan).as(sql).doesNotContain("Sort");
+        }
+    }
+
+    private String explain(String sql) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+            return String.join("\n", plan);
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package com.erp.repositories;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.payslip.PayrollPeriodSummaryDTO;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EPayrollSummaryGrouping;
+import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+import com.erp.models.User;
+import com.erp.repositories.projections.PeriodTotals;
+import com.erp.services.IDeductionService;
+import com.erp.services.IPayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the maintained period totals always equal a full aggregation of the payslips table, through single
+ * and bulk generation and approval.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class PayrollPeriodTotalsTest {
+
+    private static final int MONTH = 7;
+    private static final int YEAR = 2033;
+
+    private static final String AGGREGATE_SQL = "SELECT department, status, count(*), sum(gross_salary), sum(net_salary), " +
+            "sum(employee_tax_amount), sum(pension_amount), sum(medical_insurance_amount), sum(housing_amount), " +
+            "sum(transport_amount), sum(other_deductions) FROM payslips WHERE month = ? AND year = ? " +
+            "GROUP BY department, status ORDER BY department, status";
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private IDeductionService deductionService;
+    @Autowired
+    private PayrollPeriodTotalsRepository periodTotalsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void totalsFollowGenerationAndApproval() {
+        deductionService.initializeDefaultDeductions();
+        List<Employee> employees = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 6; i++) {
+                employees.add(seedEmployee(i % 2 == 0 ? "Finance" : null, new BigDecimal(100000 + i * 1000)));
+            }
+        });
+
+        Payslip single = payrollService.generatePayslip(employees.get(0), MONTH, YEAR);
+        assertTotalsMatchPayslips();
+
+        payrollService.generatePayrollForMonth(MONTH, YEAR);
+        assertTotalsMatchPayslips();
+
+        payrollService.approvePayslip(single.getId());
+        assertTotalsMatchPayslips();
+
+        payrollService.bulkApprovePayrollForMonth(MONTH, YEAR);
+        assertTotalsMatchPayslips();
+
+        PayrollPeriodSummaryDTO summary = payrollService.getPeriodSummary(MONTH, YEAR, EPayrollSummaryGrouping.STATUS);
+        assertThat(summary.getGroups()).hasSize(1);
+        assertThat(summary.getGroups().get(0).getStatus()).isEqualTo(EPayslipStatus.PAID);
+        assertThat(summary.getTotal().getPayslipCount()).isEqualTo(count());
+    }
+
+    private void assertTotalsMatchPayslips() {
+        List<PeriodTotals> expected = jdbcTemplate.query(AGGREGATE_SQL, (rs, rowNum) -> new PeriodTotals(
+                rs.getString(1), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4), rs.getBigDecimal(5),
+                rs.getBigDecimal(6), rs.getBigDecimal(7), rs.getBigDecimal(8), rs.getBigDecimal(9),
+                rs.getBigDecimal(10), rs.getBigDecimal(11)
+        ), MONTH, YEAR);
+        assertThat(periodTotalsRepository.findByPeriod(MONTH, YEAR))
+                .usingRecursiveFieldByFieldElementComparator()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM payslips WHERE month = ? AND year = ?", Long.class, MONTH, YEAR);
+    }
+
+    private Employee seedEmployee(String department, BigDecimal baseSalary) {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department(department)
+                .position("Analyst")
+                .baseSalary(baseSalary)
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+        return employee;
+    }
+}
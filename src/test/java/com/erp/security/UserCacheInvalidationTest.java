@@ -0,0 +1,129 @@
+package com.erp.security;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.config.CacheConfig;
+import com.erp.dtos.request.user.UserRoleChangeDTO;
+import com.erp.dtos.request.user.UserStatusChangeDTO;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.ERole;
+import com.erp.models.User;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import com.erp.security.jwt.TokenVersionService;
+import com.erp.security.user.CustomUserDetailsService;
+import com.erp.security.user.UserPrincipal;
+import com.erp.services.IUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Role and status changes must not leave the old principal or token version cached once they have committed.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class UserCacheInvalidationTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+    @Autowired
+    private TokenVersionService tokenVersionService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void roleChangeRefreshesTheCachedPrincipal() {
+        User user = seedUser();
+        UserPrincipal before = principal(user.getEmail());
+        assertThat(authorities(before)).containsExactly("ROLE_EMPLOYEE");
+        assertThat(cacheManager.getCache(CacheConfig.USER_PRINCIPALS).get(user.getEmail())).isNotNull();
+
+        UserRoleChangeDTO change = new UserRoleChangeDTO();
+        change.setNewRole(ERole.ROLE_MANAGER);
+        userService.changeRole(user.getId(), change);
+
+        UserPrincipal after = principal(user.getEmail());
+        assertThat(authorities(after)).containsExactly("ROLE_MANAGER");
+        assertThat(after.getTokenVersion()).isEqualTo(before.getTokenVersion() + 1);
+    }
+
+    @Test
+    void statusChangeRefreshesTheCachedPrincipalAndTokenVersion() {
+        User user = seedUser();
+        UserPrincipal before = principal(user.getEmail());
+        assertThat(tokenVersionService.isCurrent(user.getId(), before.getTokenVersion())).isTrue();
+
+        UserStatusChangeDTO change = new UserStatusChangeDTO();
+        change.setNewStatus(EAccountStatus.DEACTIVATED);
+        userService.changeAccountStatus(user.getId(), change);
+
+        UserPrincipal after = principal(user.getEmail());
+        assertThat(after.getTokenVersion()).isEqualTo(before.getTokenVersion() + 1);
+        assertThat(tokenVersionService.isCurrent(user.getId(), before.getTokenVersion())).isFalse();
+        assertThat(tokenVersionService.isCurrent(user.getId(), after.getTokenVersion())).isTrue();
+    }
+
+    @Test
+    void tokenVersionCacheReportsHitsAndMisses() {
+        User user = seedUser();
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        tokenVersionService.isCurrent(user.getId(), 0);
+        tokenVersionService.isCurrent(user.getId(), 0);
+
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.TOKEN_VERSIONS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private UserPrincipal principal(String email) {
+        return (UserPrincipal) customUserDetailsService.loadUserByUsername(email);
+    }
+
+    private static Set<String> authorities(UserPrincipal principal) {
+        Set<String> authorities = new HashSet<>();
+        for (GrantedAuthority authority : principal.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        return authorities;
+    }
+
+    private User seedUser() {
+        String suffix = UUID.randomUUID().toString();
+        return userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(new HashSet<>(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow())))
+                .build());
+    }
+}
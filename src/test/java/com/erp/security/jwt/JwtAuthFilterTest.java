@@ -0,0 +1,157 @@
+package com.erp.security.jwt;
+
+import com.erp.config.CacheConfig;
+import com.erp.models.User;
+import com.erp.repositories.IUserRepository;
+import com.erp.security.user.CustomUserDetailsService;
+import com.erp.security.user.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stateless authentication trusts the verified claims and checks only the token version, so these cases are the
+ * whole of what stands between a revoked, forged or expired token and an authenticated request.
+ */
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final Duration VERSION_TTL = Duration.ofMillis(200);
+
+    private final IUserRepository userRepository = mock(IUserRepository.class);
+    private final CustomUserDetailsService customUserDetailsService = mock(CustomUserDetailsService.class);
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 120_000);
+    private final TokenVersionService tokenVersionService = new TokenVersionService(userRepository,
+            new CacheConfig().cacheManager("maximumSize=10", "maximumSize=10", VERSION_TTL, 1000));
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwtUtils, customUserDetailsService, tokenVersionService);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("jane@example.com")
+                .build();
+        when(userRepository.findTokenVersionById(user.getId())).thenAnswer(invocation -> Optional.of(user.getTokenVersion()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalFromClaimsCarriesTheClaimedRoles() throws Exception {
+        UUID employeeId = UUID.randomUUID();
+        String token = accessToken(jwtUtils, List.of("ROLE_MANAGER", "ROLE_EMPLOYEE"), employeeId);
+
+        MockHttpServletResponse response = authenticate(token);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_EMPLOYEE");
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getEmployeeId()).isEqualTo(employeeId);
+        assertThat(principal.getPassword()).isNull();
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void revokedTokenIsRejectedOnceTheVersionTtlHasPassed() throws Exception {
+        String token = accessToken(jwtUtils, List.of("ROLE_EMPLOYEE"), null);
+        assertThat(authenticate(token).getStatus()).isEqualTo(200);
+
+        // Revoked on another node: nothing evicts this node's cached version
+        user.revokeTokens();
+        assertThat(authenticate(token).getStatus()).isEqualTo(200);
+        verify(userRepository, times(1)).findTokenVersionById(user.getId());
+
+        Thread.sleep(VERSION_TTL.toMillis() * 2);
+
+        MockHttpServletResponse response = authenticate(token);
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("Token has been revoked");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userRepository, times(2)).findTokenVersionById(user.getId());
+    }
+
+    @Test
+    void revokedTokenIsRejectedImmediatelyOnTheNodeThatRevokedIt() throws Exception {
+        String token = accessToken(jwtUtils, List.of("ROLE_EMPLOYEE"), null);
+        assertThat(authenticate(token).getStatus()).isEqualTo(200);
+
+        user.revokeTokens();
+        tokenVersionService.evict(user.getId());
+
+        assertThat(authenticate(token).getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedWithoutADatabaseHit() throws Exception {
+        String token = accessToken(jwtUtils, List.of("ROLE_EMPLOYEE"), null);
+        String[] parts = token.split("\\.");
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.replace("ROLE_EMPLOYEE", "ROLE_ADMIN").getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = authenticate(parts[0] + "." + forged + "." + parts[2]);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userRepository, customUserDetailsService);
+    }
+
+    @Test
+    void expiredTokenIsRejectedWithoutADatabaseHit() throws Exception {
+        JwtUtils expiredIssuer = new JwtUtils(SECRET, -60_000, 120_000);
+        String token = accessToken(expiredIssuer, List.of("ROLE_EMPLOYEE"), null);
+
+        MockHttpServletResponse response = authenticate(token);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userRepository, customUserDetailsService);
+    }
+
+    private MockHttpServletResponse authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/payslips");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private String accessToken(JwtUtils issuer, List<String> roles, UUID employeeId) {
+        UserPrincipal principal = UserPrincipal.create(user.getId(), user.getEmail(), roles, user.getTokenVersion(), employeeId);
+        return issuer.generateAccessToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.enums.EDeductionType;
+import com.erp.models.Deduction;
+import com.erp.repositories.IDeductionRepository;
+import com.erp.services.payroll.DeductionRuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Every payroll run takes its rates from the cached rule set, so a deduction change must reach the next
+ * {@code getRuleSet()} instead of waiting for the TTL.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class DeductionRuleSetCacheTest {
+
+    private static final String PENSION = EDeductionType.PENSION.getDeductionName();
+
+    @Autowired
+    private IDeductionService deductionService;
+    @SpyBean
+    private IDeductionRepository deductionRepository;
+
+    private BigDecimal originalPercentage;
+
+    @AfterEach
+    void restorePension() {
+        if (originalPercentage != null) {
+            setPensionPercentage(originalPercentage);
+        }
+    }
+
+    @Test
+    void updatingADeductionChangesTheNextRuleSet() {
+        DeductionRuleSet before = deductionService.getRuleSet();
+        assertThat(deductionService.getRuleSet()).isSameAs(before);
+
+        setPensionPercentage(new BigDecimal("7.0"));
+
+        DeductionRuleSet after = deductionService.getRuleSet();
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(after.rate(EDeductionType.PENSION)).isEqualByComparingTo("0.07");
+    }
+
+    @Test
+    void ruleSetCompiledFromRowsReadBeforeAConcurrentUpdateIsNotServedAfterIt() {
+        deductionService.getRuleSet();
+        setPensionPercentage(new BigDecimal("8.0"));
+        // The compile reads the table, then the update commits and invalidates before the compile publishes
+        doAnswer(invocation -> {
+            Object rows = invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> setPensionPercentage(new BigDecimal("9.0"))).join();
+            return rows;
+        }).doCallRealMethod().when(deductionRepository).findAll();
+
+        DeductionRuleSet raced = deductionService.getRuleSet();
+        assertThat(raced.rate(EDeductionType.PENSION)).isEqualByComparingTo("0.08");
+
+        assertThat(deductionService.getRuleSet().rate(EDeductionType.PENSION)).isEqualByComparingTo("0.09");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ruleSetPublishedAfterTheUpdatesInvalidationIsNotServed() {
+        DeductionRuleSet stale = deductionService.getRuleSet();
+        setPensionPercentage(new BigDecimal("4.0"));
+        // What a compile that read the table before the update and passed its generation check just before the
+        // update invalidated the cache leaves behind
+        Object target = AopTestUtils.getTargetObject(deductionService);
+        ((AtomicReference<DeductionRuleSet>) ReflectionTestUtils.getField(target, "ruleSet")).set(stale);
+
+        DeductionRuleSet served = deductionService.getRuleSet();
+
+        assertThat(served).isNotSameAs(stale);
+        assertThat(served.rate(EDeductionType.PENSION)).isEqualByComparingTo("0.04");
+    }
+
+    private void setPensionPercentage(BigDecimal percentage) {
+        Deduction pension = deductionService.findDeductionByName(PENSION);
+        if (originalPercentage == null) {
+            originalPercentage = pension.getPercentage();
+        }
+        deductionService.updateDeduction(pension.getId(), Deduction.builder()
+                .code(pension.getCode())
+                .name(pension.getName())
+                .percentage(percentage)
+                .build());
+    }
+}
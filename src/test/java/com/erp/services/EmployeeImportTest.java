@@ -0,0 +1,197 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.employee.EmployeeImportReport;
+import com.erp.dtos.response.employee.ImportRowErrorDTO;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EImportFormat;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.User;
+import com.erp.repositories.EmployeeImportRepository;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "application.import.chunk-size=2")
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+class EmployeeImportTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmployeeImportService employeeImportService;
+    @SpyBean
+    private EmployeeImportRepository employeeImportRepository;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void csvImportInsertsValidRowsAndReportsTheRest() throws IOException {
+        String suffix = UUID.randomUUID().toString();
+        User first = seedUser();
+        User second = seedUser();
+        User third = seedUser();
+        String csv = "employee_code,user_email,date_of_birth,employee_status,employment_code,department,position," +
+                "base_salary,employment_status,joining_date\n" +
+                row("A-" + suffix, first.getEmail(), "\"Finance, Budget\"") +
+                row("B-" + suffix, "missing-" + suffix + "@example.com", "Finance") +
+                row("A-" + suffix, second.getEmail(), "Finance") +
+                row("C-" + suffix, third.getEmail(), "Finance");
+
+        EmployeeImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EImportFormat.CSV);
+
+        assertThat(report.getRows()).isEqualTo(4);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getChunks()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDTO::getLine).containsExactly(3L, 4L);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDTO::getMessage).containsExactly(
+                "User with email missing-" + suffix + "@example.com not found",
+                "Employee with code A-" + suffix + " already exists");
+        assertThat(employeeRepository.findByCode("A-" + suffix)).isPresent();
+        assertThat(employeeRepository.findByCode("C-" + suffix)).get()
+                .extracting(employee -> employee.getUser().getId())
+                .isEqualTo(third.getId());
+    }
+
+    @Test
+    void rowReusingAnEmailEarlierInTheSameChunkIsReportedAsDuplicate() throws IOException {
+        String suffix = UUID.randomUUID().toString();
+        User user = seedUser();
+        String csv = "employee_code,user_email,date_of_birth,employee_status,employment_code,department,position," +
+                "base_salary,employment_status,joining_date\n" +
+                row("D-" + suffix, user.getEmail(), "Finance") +
+                row("E-" + suffix, user.getEmail(), "Finance");
+
+        EmployeeImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3L);
+            assertThat(error.getMessage()).isEqualTo("Duplicate user email " + user.getEmail() + " in file");
+        });
+        assertThat(employeeRepository.findByCode("D-" + suffix)).isPresent();
+        assertThat(employeeRepository.findByCode("E-" + suffix)).isEmpty();
+    }
+
+    @Test
+    void chunkHittingAConcurrentInsertIsRetriedRowByRow() throws IOException {
+        String suffix = UUID.randomUUID().toString();
+        User first = seedUser();
+        User second = seedUser();
+        User concurrent = seedUser();
+        // Another request commits an employee with the first row's code after the chunk's lookups ran
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> employeeRepository.save(Employee.builder()
+                    .code("P-" + suffix)
+                    .user(concurrent)
+                    .dateOfBirth(LocalDate.of(1990, 1, 1))
+                    .status(EEmployeeStatus.ACTIVE)
+                    .build())).join();
+            return result;
+        }).when(employeeImportRepository).findUserIdsWithEmployee(anyCollection());
+        String csv = "employee_code,user_email,date_of_birth,employee_status,employment_code,department,position," +
+                "base_salary,employment_status,joining_date\n" +
+                row("P-" + suffix, first.getEmail(), "Finance") +
+                row("Q-" + suffix, second.getEmail(), "Finance");
+
+        EmployeeImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EImportFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailedChunks()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2L);
+            assertThat(error.getMessage()).isEqualTo("Employee with code P-" + suffix + " already exists");
+        });
+        assertThat(employeeRepository.findByCode("P-" + suffix)).get()
+                .extracting(employee -> employee.getUser().getId())
+                .isEqualTo(concurrent.getId());
+        assertThat(employeeRepository.findByCode("Q-" + suffix)).isPresent();
+    }
+
+    @Test
+    void ndjsonImportRejectsRowsThatFailValidation() throws IOException {
+        User user = seedUser();
+        String ndjson = "{\"employeeCode\":\"N-" + UUID.randomUUID() + "\",\"userEmail\":\"" + user.getEmail() + "\"}\n" +
+                "not json\n";
+
+        EmployeeImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), EImportFormat.NDJSON);
+
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors().get(0).getMessage()).contains("Base salary is required");
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void formatIsTakenFromTheContentType() throws Exception {
+        User user = seedUser();
+        String code = "J-" + UUID.randomUUID();
+        String ndjson = "{\"employeeCode\":\"" + code + "\",\"userEmail\":\"" + user.getEmail() + "\"," +
+                "\"dateOfBirth\":\"1990-01-01\",\"employeeStatus\":\"ACTIVE\",\"employmentCode\":\"EMPL-" + code + "\"," +
+                "\"department\":\"Finance\",\"position\":\"Analyst\",\"baseSalary\":100000.00," +
+                "\"employmentStatus\":\"ACTIVE\",\"joiningDate\":\"2020-01-01\"}\n";
+
+        mockMvc.perform(post("/api/v1/employees/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(employeeRepository.findByCode(code)).isPresent();
+    }
+
+    private static String row(String code, String email, String department) {
+        return String.join(",", code, email, "1990-01-01", "ACTIVE", "EMPL-" + code, department, "Analyst",
+                "100000.00", "ACTIVE", "2020-01-01") + "\n";
+    }
+
+    private User seedUser() {
+        String suffix = UUID.randomUUID().toString();
+        return userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+    }
+}
@@ -0,0 +1,139 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IEmploymentRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The status guard on the approval UPDATE is what keeps a repeated or concurrent bulk approval from approving a
+ * payslip twice, and so from sending its message and email twice.
+ */
+// The outbox worker polls once at startup and then not again, so enqueued emails stay countable
+@SpringBootTest(properties = "application.mail.outbox.poll-interval=PT1H")
+@Import(TestcontainersConfiguration.class)
+class PayrollBulkApproveTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void secondBulkApprovalApprovesNothingAndSendsNothing() {
+        int month = 1;
+        int year = 2037;
+        List<Employee> employees = seedEmployees(4);
+        payrollService.generatePayrollForMonth(month, year);
+
+        List<UUID> first = payrollService.bulkApprovePayrollForMonth(month, year);
+        List<UUID> second = payrollService.bulkApprovePayrollForMonth(month, year);
+
+        assertThat(first).hasSize(payslipCount(month, year)).doesNotHaveDuplicates();
+        assertThat(second).isEmpty();
+        assertOneMessageAndEmailEach(employees, month, year);
+    }
+
+    @Test
+    void concurrentBulkApprovalsApproveEachPayslipOnce() {
+        int month = 2;
+        int year = 2037;
+        List<Employee> employees = seedEmployees(20);
+        payrollService.generatePayrollForMonth(month, year);
+
+        CompletableFuture<List<UUID>> first = CompletableFuture.supplyAsync(() -> payrollService.bulkApprovePayrollForMonth(month, year));
+        CompletableFuture<List<UUID>> second = CompletableFuture.supplyAsync(() -> payrollService.bulkApprovePayrollForMonth(month, year));
+
+        List<UUID> approved = new ArrayList<>(first.join());
+        approved.addAll(second.join());
+        assertThat(approved).hasSize(payslipCount(month, year)).doesNotHaveDuplicates();
+        assertOneMessageAndEmailEach(employees, month, year);
+    }
+
+    // Every active employee of the test database gets a payslip, including those seeded by the other test
+    private int payslipCount(int month, int year) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM payslips WHERE month = ? AND year = ?", Integer.class, month, year);
+    }
+
+    private void assertOneMessageAndEmailEach(List<Employee> employees, int month, int year) {
+        for (Employee employee : employees) {
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM messages WHERE employee_id = ? AND month_year = ?",
+                    Long.class, employee.getId(), month + "/" + year)).isEqualTo(1L);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM email_outbox WHERE recipient = ?",
+                    Long.class, employee.getUser().getEmail())).isEqualTo(1L);
+        }
+    }
+
+    private List<Employee> seedEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                employees.add(seedEmployee());
+            }
+        });
+        return employees;
+    }
+
+    private Employee seedEmployee() {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department("Operations")
+                .position("Analyst")
+                .baseSalary(new BigDecimal("100000.00"))
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+        return employee;
+    }
+}
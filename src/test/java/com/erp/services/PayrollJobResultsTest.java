@@ -0,0 +1,154 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.payroll.PayrollJobResponseDTO;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EPayrollJobStatus;
+import com.erp.enums.EPayslipStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IEmploymentRepository;
+import com.erp.repositories.IPayslipRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import com.erp.utils.pagination.CursorPagination;
+import com.erp.utils.pagination.CursorRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A job's results are the payslips that job produced, not everything in its month.
+ */
+@SpringBootTest(properties = "application.payroll.chunk-size=2")
+@Import(TestcontainersConfiguration.class)
+class PayrollJobResultsTest {
+
+    private static final int MONTH = 4;
+    private static final int YEAR = 2036;
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayslipRepository payslipRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private IPayrollJobService payrollJobService;
+    @Autowired
+    private CursorPagination cursorPagination;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void resultsHoldOnlyWhatTheJobGeneratedAndApproved() throws InterruptedException {
+        List<Employee> employees = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                employees.add(seedEmployee());
+            }
+        });
+        Payslip manual = payrollService.generatePayslip(employees.get(0), MONTH, YEAR);
+
+        PayrollJobResponseDTO generate = awaitJob(payrollJobService.submitGenerateJob(MONTH, YEAR).getId());
+        assertThat(generate.getStatus()).isEqualTo(EPayrollJobStatus.COMPLETED);
+        List<UUID> generated = allResults(generate.getId());
+        assertThat(generated)
+                .doesNotContain(manual.getId())
+                .doesNotHaveDuplicates()
+                .containsAll(payslipIdsOf(employees.subList(1, employees.size())));
+
+        payrollService.approvePayslip(manual.getId());
+        PayrollJobResponseDTO approve = awaitJob(payrollJobService.submitApproveJob(MONTH, YEAR).getId());
+        assertThat(approve.getStatus()).isEqualTo(EPayrollJobStatus.COMPLETED);
+        assertThat(approve.getFailed()).isZero();
+
+        List<UUID> approved = allResults(approve.getId());
+        assertThat(approved).doesNotContain(manual.getId()).hasSize(approve.getProcessed());
+        assertThat(payslipRepository.findAllById(approved)).allMatch(payslip -> payslip.getStatus() == EPayslipStatus.PAID);
+        assertThat(approved).containsExactlyInAnyOrderElementsOf(generated);
+    }
+
+    private List<UUID> allResults(UUID jobId) {
+        List<UUID> ids = new ArrayList<>();
+        CursorRequest request = cursorPagination.request(null, 2);
+        while (true) {
+            Window<Payslip> page = payrollJobService.getJobResults(jobId, request);
+            page.forEach(payslip -> ids.add(payslip.getId()));
+            if (!page.hasNext()) {
+                return ids;
+            }
+            request = new CursorRequest(page.positionAt(page.size() - 1), request.limit());
+        }
+    }
+
+    private List<UUID> payslipIdsOf(List<Employee> employees) {
+        return employees.stream()
+                .map(employee -> payrollService.findPayslipByEmployeeAndMonthAndYear(employee, MONTH, YEAR).getId())
+                .toList();
+    }
+
+    private PayrollJobResponseDTO awaitJob(UUID jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 300; attempt++) {
+            PayrollJobResponseDTO job = payrollJobService.getJob(jobId);
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Payroll job " + jobId + " did not finish");
+    }
+
+    private Employee seedEmployee() {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department("Operations")
+                .position("Analyst")
+                .baseSalary(new BigDecimal("100000.00"))
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+        return employee;
+    }
+}
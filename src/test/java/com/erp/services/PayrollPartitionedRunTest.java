@@ -0,0 +1,154 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.payslip.PayrollChunkReport;
+import com.erp.dtos.response.payslip.PayrollRunReport;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IEmploymentRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import com.erp.repositories.PayrollPeriodTotalsRepository;
+import com.erp.repositories.PayslipBatchRepository;
+import com.erp.repositories.projections.PeriodTotals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A chunk that fails after writing its payslips and period totals must roll both back, while the other chunks of
+ * the same run commit.
+ */
+@SpringBootTest(properties = "application.payroll.chunk-size=2")
+@Import(TestcontainersConfiguration.class)
+class PayrollPartitionedRunTest {
+
+    private static final int MONTH = 11;
+    private static final int YEAR = 2035;
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @SpyBean
+    private PayslipBatchRepository payslipBatchRepository;
+    @SpyBean
+    private PayrollPeriodTotalsRepository periodTotalsRepository;
+
+    @Test
+    void failingChunkRollsBackOnlyItsOwnPayslipsAndTotals() {
+        String committedDepartment = "Committed-" + UUID.randomUUID();
+        String failingDepartment = "Failing-" + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 2; i++) {
+                seedEmployment(committedDepartment);
+                seedEmployment(failingDepartment);
+            }
+        });
+
+        // The failing chunk's payslips are inserted for real; the totals update fails only after it has run too
+        Set<UUID> failingIds = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<Payslip> payslips = invocation.getArgument(0);
+            invocation.callRealMethod();
+            payslips.stream()
+                    .filter(payslip -> failingDepartment.equals(payslip.getDepartment()))
+                    .forEach(payslip -> failingIds.add(payslip.getId()));
+            return null;
+        }).when(payslipBatchRepository).insertAll(anyList());
+        doAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            invocation.callRealMethod();
+            if (ids.stream().anyMatch(failingIds::contains)) {
+                throw new DataIntegrityViolationException("Simulated failure in chunk " + failingDepartment);
+            }
+            return null;
+        }).when(periodTotalsRepository).add(any(), any());
+
+        PayrollRunReport report = payrollService.generatePayrollForMonthPartitioned(MONTH, YEAR);
+
+        assertThat(report.getFailedChunks()).isEqualTo(1);
+        assertThat(report.getChunks())
+                .filteredOn(chunk -> !chunk.isCommitted())
+                .extracting(PayrollChunkReport::getChunk)
+                .containsExactly(failingDepartment + "#1");
+
+        assertThat(payslipCount(failingDepartment)).isZero();
+        assertThat(payslipCount(committedDepartment)).isEqualTo(2);
+        List<PeriodTotals> totals = periodTotalsRepository.findByPeriod(MONTH, YEAR);
+        assertThat(totals).noneMatch(row -> failingDepartment.equals(row.department()));
+        assertThat(totals)
+                .filteredOn(row -> committedDepartment.equals(row.department()))
+                .singleElement()
+                .extracting(PeriodTotals::payslipCount)
+                .isEqualTo(2L);
+    }
+
+    private long payslipCount(String department) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM payslips WHERE month = ? AND year = ? AND department = ?",
+                Long.class, MONTH, YEAR, department);
+    }
+
+    private void seedEmployment(String department) {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department(department)
+                .position("Analyst")
+                .baseSalary(new BigDecimal("100000.00"))
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+    }
+}
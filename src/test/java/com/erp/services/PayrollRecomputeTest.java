@@ -0,0 +1,107 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.payslip.PayrollRecomputeReport;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.ERecomputeMode;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.Payslip;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IEmploymentRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class PayrollRecomputeTest {
+
+    private static final int MONTH = 9;
+    private static final int YEAR = 2034;
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deltaRunRecomputesOnlyThePayslipWhoseSalaryChanged() {
+        List<Employment> employments = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                employments.add(seedEmployment());
+            }
+        });
+        payrollService.generatePayrollForMonth(MONTH, YEAR);
+
+        Employment corrected = employments.get(2);
+        transactionTemplate.executeWithoutResult(status -> {
+            Employment employment = employmentRepository.findById(corrected.getId()).orElseThrow();
+            employment.setBaseSalary(new BigDecimal("150000.00"));
+            employmentRepository.save(employment);
+        });
+
+        PayrollRecomputeReport report = payrollService.recomputePendingPayslips(MONTH, YEAR, ERecomputeMode.DELTA);
+        assertThat(report.getRecomputed()).isEqualTo(1);
+        assertThat(report.getChanged()).isEqualTo(1);
+
+        Payslip payslip = payrollService.findPayslipByEmployeeAndMonthAndYear(corrected.getEmployee(), MONTH, YEAR);
+        assertThat(payslip.getGrossSalary()).isGreaterThan(new BigDecimal("150000.00"));
+
+        assertThat(payrollService.recomputePendingPayslips(MONTH, YEAR, ERecomputeMode.DELTA).getRecomputed()).isZero();
+    }
+
+    private Employment seedEmployment() {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        return employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department("Operations")
+                .position("Analyst")
+                .baseSalary(new BigDecimal("100000.00"))
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+    }
+}
@@ -0,0 +1,233 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.EEmploymentStatus;
+import com.erp.enums.EExportFormat;
+import com.erp.enums.ERole;
+import com.erp.models.Employee;
+import com.erp.models.Employment;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IEmploymentRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports are consumed by other systems, so the file formats and the chunked resume are part of the contract.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayslipExportTest {
+
+    private static final int MONTH = 7;
+    private static final int YEAR = 2038;
+    private static final String AWKWARD_FIRST_NAME = "Jean, \"JJ\"";
+    private static final String AWKWARD_LAST_NAME = "O'Neil\nJr";
+
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmploymentRepository employmentRepository;
+    @Autowired
+    private IPayrollService payrollService;
+    @Autowired
+    private IPayslipExportService payslipExportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String awkwardEmployeeCode;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            awkwardEmployeeCode = seedEmployee(AWKWARD_FIRST_NAME, AWKWARD_LAST_NAME).getCode();
+            for (int i = 0; i < 6; i++) {
+                seedEmployee("First" + i, "Last" + i);
+            }
+        });
+        payrollService.generatePayrollForMonth(MONTH, YEAR);
+    }
+
+    @Test
+    void csvQuotesFieldsHoldingSeparatorsQuotesAndNewlines() throws IOException {
+        String csv = export(EExportFormat.CSV, null, null);
+
+        assertThat(csv).startsWith("payslip_id,employee_code,first_name,last_name,national_id,gross_salary,");
+        assertThat(csv).contains("," + awkwardEmployeeCode + ",\"Jean, \"\"JJ\"\"\",\"O'Neil\nJr\",");
+        assertThat(csv).contains(",First0,Last0,");
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerPayslipInIdOrder() throws IOException {
+        List<JsonNode> rows = ndjson(export(EExportFormat.NDJSON, null, null));
+
+        assertThat(rows).extracting(row -> UUID.fromString(row.get("payslipId").asText()))
+                .containsExactlyElementsOf(periodPayslipIds());
+        JsonNode awkward = rows.stream()
+                .filter(row -> awkwardEmployeeCode.equals(row.get("employeeCode").asText()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(awkward.get("firstName").asText()).isEqualTo(AWKWARD_FIRST_NAME);
+        assertThat(awkward.get("lastName").asText()).isEqualTo(AWKWARD_LAST_NAME);
+        assertThat(awkward.get("month").asInt()).isEqualTo(MONTH);
+        assertThat(new BigDecimal(awkward.get("netSalary").asText())).isPositive();
+    }
+
+    @Test
+    void chunksResumedAfterTheLastIdCoverThePeriodWithoutGapsOrDuplicates() throws IOException {
+        List<UUID> exported = new ArrayList<>();
+        UUID after = null;
+        while (true) {
+            List<JsonNode> chunk = ndjson(export(EExportFormat.NDJSON, after, 2));
+            assertThat(chunk).hasSizeLessThanOrEqualTo(2);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunk.forEach(row -> exported.add(UUID.fromString(row.get("payslipId").asText())));
+            after = exported.get(exported.size() - 1);
+        }
+
+        assertThat(exported).doesNotHaveDuplicates().containsExactlyElementsOf(periodPayslipIds());
+    }
+
+    @Test
+    void csvChunksRepeatTheHeaderAndResumeAfterTheLastId() throws IOException {
+        List<UUID> ids = periodPayslipIds();
+
+        String chunk = export(EExportFormat.CSV, ids.get(1), 2);
+
+        List<String> lines = chunk.lines().toList();
+        assertThat(lines.get(0)).startsWith("payslip_id,");
+        assertThat(lines).filteredOn(line -> line.length() > 36 && line.charAt(36) == ',')
+                .extracting(line -> UUID.fromString(line.substring(0, 36)))
+                .containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void gzipIsUsedOnlyWhenAccepted() throws Exception {
+        String path = "/payroll/export/" + MONTH + "/" + YEAR;
+
+        MvcResult compressed = mockMvc.perform(get(path).param("format", "NDJSON").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(compressed))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+        assertThat(gunzip(compressed.getResponse().getContentAsByteArray()))
+                .isEqualTo(export(EExportFormat.NDJSON, null, null));
+
+        MvcResult plain = mockMvc.perform(get(path).param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(plain))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        assertThat(plain.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo(export(EExportFormat.NDJSON, null, null));
+    }
+
+    private String export(EExportFormat format, UUID after, Integer limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payslipExportService.exportPayslips(MONTH, YEAR, format, after, limit, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<JsonNode> ndjson(String body) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private List<UUID> periodPayslipIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM payslips WHERE month = ? AND year = ? ORDER BY id",
+                UUID.class, MONTH, YEAR);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Employee seedEmployee(String firstName, String lastName) {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+        employmentRepository.save(Employment.builder()
+                .code("EMPL-" + suffix)
+                .employee(employee)
+                .department("Operations")
+                .position("Analyst")
+                .baseSalary(new BigDecimal("100000.00"))
+                .status(EEmploymentStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2020, 1, 1))
+                .build());
+        return employee;
+    }
+}
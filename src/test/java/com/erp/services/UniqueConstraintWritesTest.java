@@ -0,0 +1,185 @@
+package com.erp.services;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.request.auth.RegisterUserDTO;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.ERole;
+import com.erp.exceptions.AppException;
+import com.erp.exceptions.BadRequestException;
+import com.erp.exceptions.InternalServerErrorException;
+import com.erp.models.Deduction;
+import com.erp.models.Employee;
+import com.erp.models.User;
+import com.erp.repositories.IUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class UniqueConstraintWritesTest {
+
+    @Autowired
+    private IDeductionService deductionService;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private IRoleService roleService;
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Test
+    void duplicateCodeIsReportedWithTheExistingMessage() {
+        String code = "DED-" + UUID.randomUUID();
+        deductionService.createDeduction(deduction(code, "Name " + UUID.randomUUID()));
+
+        assertThatThrownBy(() -> deductionService.createDeduction(deduction(code, "Name " + UUID.randomUUID())))
+                .isInstanceOf(AppException.class)
+                .hasMessage("Deduction with code " + code + " already exists");
+    }
+
+    @Test
+    void duplicateNameIsReportedWithTheExistingMessage() {
+        String name = "Name " + UUID.randomUUID();
+        deductionService.createDeduction(deduction("DED-" + UUID.randomUUID(), name));
+
+        assertThatThrownBy(() -> deductionService.createDeduction(deduction("DED-" + UUID.randomUUID(), name)))
+                .isInstanceOf(AppException.class)
+                .hasMessage("Deduction with name " + name + " already exists");
+    }
+
+    @Test
+    void concurrentCreatesWithTheSameCodeLetExactlyOneThrough() {
+        String code = "DED-" + UUID.randomUUID();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            writes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    deductionService.createDeduction(deduction(code, "Name " + UUID.randomUUID()));
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(failures).hasSize(7).allMatch(AppException.class::isInstance);
+        assertThat(deductionService.findDeductionByCode(code)).isNotNull();
+    }
+
+    @Test
+    void duplicateUserEmailIsABadRequest() {
+        RegisterUserDTO existing = registerUser();
+        RegisterUserDTO duplicate = newUser();
+        duplicate.setEmail(existing.getEmail());
+
+        assertThatThrownBy(() -> userService.createEmployee(duplicate))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User with the email already exists");
+    }
+
+    @Test
+    void duplicateUserPhoneNumberIsABadRequest() {
+        RegisterUserDTO existing = registerUser();
+        RegisterUserDTO duplicate = newUser();
+        duplicate.setPhoneNumber(existing.getPhoneNumber());
+
+        assertThatThrownBy(() -> userService.createEmployee(duplicate))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User with the phone number already exists");
+    }
+
+    @Test
+    void duplicateUserNationalIdIsABadRequest() {
+        RegisterUserDTO existing = registerUser();
+        RegisterUserDTO duplicate = newUser();
+        duplicate.setNationalId(existing.getNationalId());
+
+        assertThatThrownBy(() -> userService.createEmployee(duplicate))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User with the national ID already exists");
+    }
+
+    @Test
+    void duplicateEmployeeCodeIsReportedWithTheExistingMessage() {
+        String code = "EMP-" + UUID.randomUUID();
+        employeeService.createEmployee(employee(code, userOf(registerUser())));
+        Employee duplicate = employee(code, userOf(registerUser()));
+
+        assertThatThrownBy(() -> employeeService.createEmployee(duplicate))
+                .isInstanceOf(AppException.class)
+                .hasMessage("Employee with code " + code + " already exists");
+    }
+
+    @Test
+    void secondEmployeeForAUserIsReportedWithTheExistingMessage() {
+        User user = userOf(registerUser());
+        employeeService.createEmployee(employee("EMP-" + UUID.randomUUID(), user));
+
+        assertThatThrownBy(() -> employeeService.createEmployee(employee("EMP-" + UUID.randomUUID(), user)))
+                .isInstanceOf(AppException.class)
+                .hasMessage("Employee for this user already exists");
+    }
+
+    @Test
+    void duplicateRoleIsReportedByName() {
+        // The roles are created at startup
+        assertThatThrownBy(() -> roleService.createRole(ERole.ROLE_EMPLOYEE))
+                .isInstanceOf(InternalServerErrorException.class)
+                .hasMessage("Role " + ERole.ROLE_EMPLOYEE + " already exists");
+    }
+
+    private RegisterUserDTO registerUser() {
+        RegisterUserDTO user = newUser();
+        userService.createEmployee(user);
+        return user;
+    }
+
+    private static RegisterUserDTO newUser() {
+        String suffix = UUID.randomUUID().toString();
+        RegisterUserDTO user = new RegisterUserDTO();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(suffix + "@example.com");
+        user.setPhoneNumber(suffix);
+        user.setNationalId(suffix);
+        user.setPassword("Password@123");
+        return user;
+    }
+
+    private User userOf(RegisterUserDTO registered) {
+        return userRepository.findUserByEmail(registered.getEmail()).orElseThrow();
+    }
+
+    private static Employee employee(String code, User user) {
+        return Employee.builder()
+                .code(code)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build();
+    }
+
+    private static Deduction deduction(String code, String name) {
+        return Deduction.builder()
+                .code(code)
+                .name(name)
+                .percentage(new BigDecimal("1.00"))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.erp.services.payroll;
+
+import com.erp.enums.EDeductionType;
+import com.erp.models.Deduction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayrollArithmeticTest {
+
+    private static final long SEED = 20240601L;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void fixedPointMatchesBigDecimalForRandomInputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            DeductionRuleSet rules = randomRules(random);
+            BigDecimal baseSalary = randomSalary(random);
+
+            PayslipAmounts expected = PayrollArithmetic.computeExact(baseSalary, rules);
+            PayslipAmounts actual = PayrollArithmetic.compute(baseSalary, rules);
+
+            // Record equality uses BigDecimal.equals, so scale must match as well as value
+            assertEquals(expected, actual, "base salary " + baseSalary + " (seed " + SEED + ", sample " + i + ")");
+        }
+    }
+
+    @Test
+    void roundsHalfAwayFromZero() {
+        assertEquals(1, PayrollArithmetic.applyRate(10, 5));
+        assertEquals(0, PayrollArithmetic.applyRate(9, 5));
+        assertEquals(-1, PayrollArithmetic.applyRate(-10, 5));
+        assertEquals(0, PayrollArithmetic.applyRate(-9, 5));
+    }
+
+    @Test
+    void fallsBackForUnrepresentableSalaries() {
+        DeductionRuleSet rules = defaultRules();
+
+        BigDecimal extraDecimals = new BigDecimal("123456.785");
+        assertEquals(PayrollArithmetic.computeExact(extraDecimals, rules), PayrollArithmetic.compute(extraDecimals, rules));
+
+        BigDecimal huge = new BigDecimal(Long.MAX_VALUE).multiply(BigDecimal.TEN);
+        assertEquals(PayrollArithmetic.computeExact(huge, rules), PayrollArithmetic.compute(huge, rules));
+
+        BigDecimal nearOverflow = BigDecimal.valueOf(Long.MAX_VALUE / 10, 2);
+        assertEquals(PayrollArithmetic.computeExact(nearOverflow, rules), PayrollArithmetic.compute(nearOverflow, rules));
+    }
+
+    @Test
+    void detectsDeductionsAboveGrossSalary() {
+        DeductionRuleSet rules = DeductionRuleSet.compile(1, List.of(
+                deduction(EDeductionType.EMPLOYEE_TAX, "90"),
+                deduction(EDeductionType.PENSION, "90")
+        ));
+
+        assertTrue(PayrollArithmetic.compute(new BigDecimal("1000.00"), rules).deductionsExceedGrossSalary());
+    }
+
+    private static BigDecimal randomSalary(Random random) {
+        int scale = random.nextInt(3);
+        long unscaled = switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(1_000);
+            case 1 -> random.nextInt(10_000_000);
+            case 2 -> (random.nextLong() >>> 1) % 1_000_000_000_000L;
+            // Values ending in 50 hit the HALF_UP tie on the most common rates
+            default -> random.nextInt(1_000_000) * 100L + 50;
+        };
+        return BigDecimal.valueOf(random.nextBoolean() ? unscaled : -unscaled, scale);
+    }
+
+    private static DeductionRuleSet randomRules(Random random) {
+        List<Deduction> deductions = new ArrayList<>();
+        for (EDeductionType type : EDeductionType.values()) {
+            if (random.nextInt(10) == 0) {
+                continue;
+            }
+            // Percentages with up to three decimals exercise the rounding done when rates are compiled
+            BigDecimal percentage = BigDecimal.valueOf(random.nextInt(40_000), random.nextInt(4));
+            deductions.add(Deduction.builder().name(type.getDeductionName()).percentage(percentage).build());
+        }
+        return DeductionRuleSet.compile(1, deductions);
+    }
+
+    private static DeductionRuleSet defaultRules() {
+        return DeductionRuleSet.compile(1, List.of(
+                deduction(EDeductionType.EMPLOYEE_TAX, "30"),
+                deduction(EDeductionType.PENSION, "6"),
+                deduction(EDeductionType.MEDICAL_INSURANCE, "5"),
+                deduction(EDeductionType.HOUSING, "14"),
+                deduction(EDeductionType.TRANSPORT, "14"),
+                deduction(EDeductionType.OTHERS, "5")
+        ));
+    }
+
+    private static Deduction deduction(EDeductionType type, String percentage) {
+        return Deduction.builder().name(type.getDeductionName()).percentage(new BigDecimal(percentage)).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.erp.services.payroll;
+
+import com.erp.dtos.response.payroll.PayrollSimulationResultDTO;
+import com.erp.dtos.response.payslip.PayrollTotalsDTO;
+import com.erp.enums.EDeductionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PayrollSimulatorTest {
+
+    private static final long SEED = 20240901L;
+    private static final int EMPLOYEES = 50_000;
+
+    private static final DeductionRuleSet CURRENT = DeductionRuleSet.compile(1, List.of()).withPercentages(Map.of(
+            EDeductionType.EMPLOYEE_TAX, new BigDecimal("30"),
+            EDeductionType.PENSION, new BigDecimal("6"),
+            EDeductionType.MEDICAL_INSURANCE, new BigDecimal("5"),
+            EDeductionType.HOUSING, new BigDecimal("14"),
+            EDeductionType.TRANSPORT, new BigDecimal("14"),
+            EDeductionType.OTHERS, new BigDecimal("5")
+    ));
+
+    @Test
+    void totalsMatchPayrollArithmetic() {
+        Random random = new Random(SEED);
+        PayrollSnapshot.Builder builder = PayrollSnapshot.builder();
+        BigDecimal[] salaries = new BigDecimal[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            salaries[i] = BigDecimal.valueOf(random.nextLong(100_000, 100_000_000), 2);
+            builder.add(salaries[i], i % 3 == 0 ? null : "Department" + (i % 7));
+        }
+        DeductionRuleSet simulated = CURRENT.withPercentages(Map.of(EDeductionType.PENSION, new BigDecimal("8")));
+
+        PayrollSimulationResultDTO result = PayrollSimulator.simulate(builder.build(), CURRENT, simulated);
+
+        BigDecimal currentNet = BigDecimal.ZERO;
+        BigDecimal simulatedNet = BigDecimal.ZERO;
+        BigDecimal simulatedPension = BigDecimal.ZERO;
+        for (BigDecimal salary : salaries) {
+            currentNet = currentNet.add(PayrollArithmetic.computeExact(salary, CURRENT).netSalary());
+            PayslipAmounts amounts = PayrollArithmetic.computeExact(salary, simulated);
+            simulatedNet = simulatedNet.add(amounts.netSalary());
+            simulatedPension = simulatedPension.add(amounts.pensionAmount());
+        }
+
+        assertEquals(EMPLOYEES, result.getEmployees());
+        assertEquals(0, currentNet.compareTo(result.getCurrent().getNetSalary()));
+        assertEquals(0, simulatedNet.compareTo(result.getSimulated().getNetSalary()));
+        assertEquals(0, simulatedPension.compareTo(result.getSimulated().getPensionAmount()));
+        assertEquals(0, simulatedNet.subtract(currentNet).compareTo(result.getDelta().getNetSalary()));
+        assertEquals(0, result.getDepartmentDeltas().stream()
+                .map(PayrollTotalsDTO::getNetSalary)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .compareTo(result.getDelta().getNetSalary()));
+        assertEquals(new BigDecimal("8"), result.getPercentages().get(EDeductionType.PENSION));
+    }
+
+    @Test
+    void excludesEmployeesWhoseDeductionsExceedGrossSalary() {
+        PayrollSnapshot snapshot = PayrollSnapshot.builder()
+                .add(new BigDecimal("1000.00"), "Finance")
+                .add(new BigDecimal("2000.00"), "Finance")
+                .build();
+        DeductionRuleSet simulated = CURRENT.withPercentages(Map.of(EDeductionType.EMPLOYEE_TAX, new BigDecimal("100")));
+
+        PayrollSimulationResultDTO result = PayrollSimulator.simulate(snapshot, CURRENT, simulated);
+
+        assertEquals(0, result.getEmployees());
+        assertEquals(2, result.getExcluded());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getDelta().getNetSalary()));
+    }
+
+    @Test
+    void reportsNearestRankPercentiles() {
+        PayrollSnapshot.Builder builder = PayrollSnapshot.builder();
+        for (int i = 1; i <= 100; i++) {
+            builder.add(BigDecimal.valueOf(i * 1000L), "Finance");
+        }
+        DeductionRuleSet noDeductions = DeductionRuleSet.compile(1, List.of());
+
+        PayrollSimulationResultDTO result = PayrollSimulator.simulate(builder.build(), noDeductions, noDeductions);
+
+        assertEquals(0, new BigDecimal("50000").compareTo(result.getNetSalaryPercentiles().get("p50")));
+        assertEquals(0, new BigDecimal("99000").compareTo(result.getNetSalaryPercentiles().get("p99")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getNetSalaryDeltaPercentiles().get("p90")));
+    }
+}
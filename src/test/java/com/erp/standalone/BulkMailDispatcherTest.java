@@ -0,0 +1,105 @@
+package com.erp.standalone;
+
+import com.erp.enums.IEmailTemplate;
+import com.erp.repositories.projections.OutboxEmail;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends through GreenMail as a local SMTP server and checks how many connections a batch opens and how the rate
+ * limit spaces sends out. The throughput against one connection per email is measured by
+ * {@code MailDispatchBenchmark}.
+ */
+class BulkMailDispatcherTest {
+
+    private static final int MESSAGES_PER_CONNECTION = 100;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailService emailService;
+    private SmtpTransportPool transportPool;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        emailService = new EmailService(mailSender, new EmailTemplateRenderer(templateEngine, true));
+        transportPool = new SmtpTransportPool(mailSender, 4, MESSAGES_PER_CONNECTION, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void sendsManyMessagesPerConnection() {
+        BulkMailDispatcher dispatcher = new BulkMailDispatcher(emailService, transportPool, 0);
+        List<OutboxEmail> emails = salaryNotifications(500);
+
+        Map<UUID, Exception> failures = dispatcher.sendAll(emails);
+
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.waitForIncomingEmail(10_000, emails.size())).isTrue();
+        assertThat(transportPool.getConnectionsOpened()).isEqualTo(emails.size() / MESSAGES_PER_CONNECTION);
+    }
+
+    @Test
+    void reusesIdleConnectionAcrossBatches() {
+        BulkMailDispatcher dispatcher = new BulkMailDispatcher(emailService, transportPool, 0);
+
+        assertThat(dispatcher.sendAll(salaryNotifications(10))).isEmpty();
+        assertThat(dispatcher.sendAll(salaryNotifications(10))).isEmpty();
+
+        assertThat(greenMail.waitForIncomingEmail(5_000, 20)).isTrue();
+        assertThat(transportPool.getConnectionsOpened()).isEqualTo(1);
+    }
+
+    @Test
+    void rateLimitSpacesOutSends() {
+        BulkMailDispatcher dispatcher = new BulkMailDispatcher(emailService, transportPool, 50);
+
+        long startedAt = System.nanoTime();
+        assertThat(dispatcher.sendAll(salaryNotifications(51))).isEmpty();
+
+        // The first permit is free, the other 50 come 20ms apart
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+    }
+
+    private static List<OutboxEmail> salaryNotifications(int count) {
+        List<OutboxEmail> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("firstName", "Employee" + i);
+            variables.put("monthYear", "5/2024");
+            variables.put("amount", "80000.00");
+            variables.put("employeeId", "EMP-" + i);
+            variables.put("payslipId", UUID.randomUUID().toString());
+            variables.put("baseUrl", "http://localhost:8000/api/v1");
+            emails.add(new OutboxEmail(UUID.randomUUID(), "employee" + i + "@example.com", "Employee" + i,
+                    "Salary Payment Notification", IEmailTemplate.SALARY_PAYMENT, variables, 1));
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,166 @@
+package com.erp.standalone;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.enums.IEmailTemplate;
+import com.erp.repositories.EmailOutboxRepository;
+import com.erp.repositories.projections.OutboxEmail;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delivery guarantees of the outbox: a failed send waits out its backoff before it is retried, gives up after
+ * {@code max-attempts}, and a claimed email is never handed to a second worker while the first holds it.
+ */
+// The scheduled drain runs once at startup and then not again, so each test drives the worker itself
+@SpringBootTest(properties = {
+        "application.mail.outbox.poll-interval=PT1H",
+        "application.mail.outbox.max-attempts=3",
+        "application.mail.outbox.initial-backoff=PT0.5S",
+        "application.mail.outbox.max-backoff=PT1S"
+})
+@Import(TestcontainersConfiguration.class)
+class EmailOutboxWorkerTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+
+    @Autowired
+    private EmailOutboxWorker emailOutboxWorker;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private BulkMailDispatcher bulkMailDispatcher;
+
+    @Test
+    void failedSendIsRetriedOnceItsBackoffHasPassed() throws InterruptedException {
+        String recipient = enqueue(1).get(0);
+        when(bulkMailDispatcher.sendAll(anyList()))
+                .thenAnswer(invocation -> failAll(invocation.getArgument(0)))
+                .thenReturn(Map.of());
+
+        emailOutboxWorker.drain();
+
+        Map<String, Object> row = row(recipient);
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat((String) row.get("last_error")).contains("SMTP unavailable");
+        assertThat(((Timestamp) row.get("next_attempt_at")).toLocalDateTime()).isAfter(LocalDateTime.now());
+
+        // Not due yet, so it is not claimed again
+        emailOutboxWorker.drain();
+        verify(bulkMailDispatcher, times(1)).sendAll(anyList());
+
+        Thread.sleep(INITIAL_BACKOFF.multipliedBy(2).toMillis());
+        emailOutboxWorker.drain();
+
+        verify(bulkMailDispatcher, times(2)).sendAll(anyList());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM email_outbox WHERE recipient = ?", Long.class, recipient))
+                .isZero();
+    }
+
+    @Test
+    void sendIsDeadLetteredAfterMaxAttempts() {
+        String recipient = enqueue(1).get(0);
+        when(bulkMailDispatcher.sendAll(anyList())).thenAnswer(invocation -> failAll(invocation.getArgument(0)));
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            makeDue(recipient);
+            emailOutboxWorker.drain();
+            assertThat(row(recipient).get("attempts")).isEqualTo(attempt);
+        }
+
+        Map<String, Object> row = row(recipient);
+        assertThat(row.get("status")).isEqualTo("DEAD");
+        assertThat((String) row.get("last_error")).contains("SMTP unavailable");
+
+        // Dead emails are kept for inspection but never claimed again
+        makeDue(recipient);
+        emailOutboxWorker.drain();
+        verify(bulkMailDispatcher, times(3)).sendAll(anyList());
+        assertThat(row(recipient).get("attempts")).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentClaimsSkipRowsAnotherWorkerHolds() {
+        List<String> recipients = enqueue(100);
+
+        List<List<OutboxEmail>> claims = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Holds its rows locked until this transaction ends, like a worker still inside its claim
+            List<OutboxEmail> first = emailOutboxRepository.claimDue(50, now, now.plusMinutes(5));
+            // Without SKIP LOCKED this claim would block on the first one's rows until the timeout
+            List<OutboxEmail> second = CompletableFuture
+                    .supplyAsync(() -> emailOutboxRepository.claimDue(1000, now, now.plusMinutes(5)))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+            return List.of(first, second);
+        });
+
+        Set<UUID> firstIds = ids(claims.get(0));
+        Set<UUID> secondIds = ids(claims.get(1));
+        assertThat(firstIds).hasSize(50).doesNotContainAnyElementsOf(secondIds);
+        Set<String> claimedRecipients = new HashSet<>();
+        claims.forEach(claim -> claim.forEach(email -> claimedRecipients.add(email.recipient())));
+        assertThat(claimedRecipients).containsAll(recipients);
+        assertThat(jdbcTemplate.queryForObject("SELECT max(attempts) FROM email_outbox WHERE recipient = ANY (?)",
+                Integer.class, (Object) recipients.toArray(new String[0]))).isEqualTo(1);
+    }
+
+    private List<String> enqueue(int count) {
+        List<String> recipients = new ArrayList<>();
+        List<OutboxEmail> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String recipient = UUID.randomUUID() + "@example.com";
+            recipients.add(recipient);
+            emails.add(OutboxEmail.of(recipient, "Employee", "Salary", IEmailTemplate.values()[0], Map.of()));
+        }
+        emailOutboxRepository.insertAll(emails);
+        return recipients;
+    }
+
+    private void makeDue(String recipient) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE recipient = ?",
+                LocalDateTime.now().minusSeconds(1), recipient);
+    }
+
+    private Map<String, Object> row(String recipient) {
+        return jdbcTemplate.queryForMap("SELECT status, attempts, last_error, next_attempt_at FROM email_outbox WHERE recipient = ?",
+                recipient);
+    }
+
+    private static Map<UUID, Exception> failAll(List<OutboxEmail> emails) {
+        return emails.stream().collect(Collectors.toMap(OutboxEmail::id, email -> new MailSendException("SMTP unavailable")));
+    }
+
+    private static Set<UUID> ids(List<OutboxEmail> emails) {
+        return emails.stream().map(OutboxEmail::id).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,71 @@
+package com.erp.standalone;
+
+import com.erp.enums.IEmailTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailTemplateRendererTest {
+
+    private final SpringTemplateEngine templateEngine = templateEngine();
+    private final EmailTemplateRenderer precompiled = new EmailTemplateRenderer(templateEngine, true);
+    private final EmailTemplateRenderer thymeleaf = new EmailTemplateRenderer(templateEngine, false);
+
+    @ParameterizedTest
+    @EnumSource(IEmailTemplate.class)
+    void precompiledOutputMatchesThymeleaf(IEmailTemplate template) {
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> variables = variables(i);
+            assertThat(precompiled.render(template, new HashMap<>(variables)))
+                    .isEqualTo(thymeleaf.render(template, new HashMap<>(variables)));
+        }
+    }
+
+    @Test
+    void salaryNotificationIsPrecompiled() {
+        Map<String, Object> variables = variables(0);
+        precompiled.render(IEmailTemplate.SALARY_PAYMENT, new HashMap<>(variables));
+        assertThat(precompiled.isCompiled(IEmailTemplate.SALARY_PAYMENT, variables.keySet())).isTrue();
+    }
+
+    @Test
+    void nullValuesAreRenderedByThymeleaf() {
+        Map<String, Object> variables = variables(0);
+        variables.put("amount", null);
+        assertThat(precompiled.render(IEmailTemplate.SALARY_PAYMENT, new HashMap<>(variables)))
+                .isEqualTo(thymeleaf.render(IEmailTemplate.SALARY_PAYMENT, new HashMap<>(variables)));
+    }
+
+    private static Map<String, Object> variables(int index) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("username", "Jean <Paul> & \"Marie\" " + index);
+        variables.put("code", "A1B2C" + index);
+        variables.put("firstName", "Jean-Paul's " + index);
+        variables.put("monthYear", index + "/2024");
+        variables.put("amount", "150000." + index);
+        variables.put("employeeId", "EMP00" + index);
+        variables.put("payslipId", "0f3e5b8a-0000-0000-0000-00000000000" + index);
+        variables.put("baseUrl", "http://localhost:8000/api/v1");
+        variables.put("supportEmail", "contact@nzabera.com");
+        variables.put("currentYear", 2024);
+        return variables;
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        return templateEngine;
+    }
+}
@@ -0,0 +1,195 @@
+package com.erp.utils.pagination;
+
+import com.erp.TestcontainersConfiguration;
+import com.erp.dtos.response.CursorPage;
+import com.erp.enums.EAccountStatus;
+import com.erp.enums.EEmployeeStatus;
+import com.erp.enums.ERole;
+import com.erp.exceptions.BadRequestException;
+import com.erp.models.Employee;
+import com.erp.models.Message;
+import com.erp.models.User;
+import com.erp.repositories.IEmployeeRepository;
+import com.erp.repositories.IMessageRepository;
+import com.erp.repositories.IRoleRepository;
+import com.erp.repositories.IUserRepository;
+import com.erp.services.IMessageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursors are opaque to clients, so a cursor that does not decode is their mistake (400), not ours (500).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+class CursorPaginationTest {
+
+    // Later than anything else in the test database, so these rows are the first pages of the newest-first order
+    private static final LocalDateTime TIED_CREATED_DATE = LocalDateTime.of(2099, 1, 1, 12, 0);
+
+    @Autowired
+    private CursorPagination cursorPagination;
+    @Autowired
+    private IUserRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IMessageRepository messageRepository;
+    @Autowired
+    private IMessageService messageService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cursorRoundTripsTheKeysOfTheLastRow() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdDate", LocalDateTime.of(2024, 5, 1, 8, 30, 15, 123456000));
+        keys.put("id", UUID.randomUUID());
+        Window<String> window = Window.from(List.of("a", "b"),
+                index -> index == 1 ? ScrollPosition.forward(keys) : ScrollPosition.forward(Map.of("id", UUID.randomUUID())),
+                true);
+
+        CursorPage<String> page = cursorPagination.page(window, String::toUpperCase);
+
+        assertThat(page.getItems()).containsExactly("A", "B");
+        assertThat(page.isHasMore()).isTrue();
+        KeysetScrollPosition position = (KeysetScrollPosition) cursorPagination.request(page.getNextCursor(), null).position();
+        assertThat(position.getKeys()).isEqualTo(keys);
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", UUID.randomUUID())), false);
+
+        CursorPage<String> page = cursorPagination.page(window, value -> value);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void sizeDefaultsAndIsClamped() {
+        assertThat(cursorPagination.request(null, null).limit().max()).isEqualTo(50);
+        assertThat(cursorPagination.request(null, 10_000).limit().max()).isEqualTo(500);
+        assertThat(cursorPagination.request(null, 0).limit().max()).isEqualTo(1);
+        assertThat(cursorPagination.request(null, -5).limit().max()).isEqualTo(1);
+        assertThat(cursorPagination.request(" ", 20).position().isInitial()).isTrue();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        for (String cursor : List.of("not base64!", encode("id"), encode("id=not-a-uuid"),
+                encode("createdDate=yesterday"), encode("sort=" + UUID.randomUUID()))) {
+            assertThatThrownBy(() -> cursorPagination.request(cursor, null))
+                    .as(cursor)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void malformedCursorReturns400() throws Exception {
+        mockMvc.perform(get("/api/v1/messages").param("cursor", encode("id=not-a-uuid")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void rowsWithEqualCreatedDateArePagedByIdWithoutGapsOrDuplicates() {
+        List<UUID> seeded = seedMessagesCreatedAt(TIED_CREATED_DATE, 5);
+
+        List<UUID> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Message> window = messageService.findAllMessages(cursorPagination.request(cursor, 2));
+            CursorPage<UUID> page = cursorPagination.page(window, Message::getId);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null && paged.size() < seeded.size());
+
+        // PostgreSQL orders uuids by their unsigned bytes, which is the order of their hex strings
+        assertThat(paged)
+                .doesNotHaveDuplicates()
+                .containsExactlyElementsOf(seeded.stream().sorted(Comparator.comparing(UUID::toString).reversed()).toList());
+    }
+
+    private List<UUID> seedMessagesCreatedAt(LocalDateTime createdDate, int count) {
+        List<UUID> ids = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = seedEmployee();
+            for (int i = 0; i < count; i++) {
+                ids.add(messageRepository.save(Message.builder()
+                        .employee(employee)
+                        .message("Message " + i)
+                        .monthYear("1/2099")
+                        .sentAt(LocalDateTime.now())
+                        .build()).getId());
+            }
+        });
+        for (UUID id : ids) {
+            jdbcTemplate.update("update messages set created_date = ? where id = ?", createdDate, id);
+        }
+        return ids;
+    }
+
+    private Employee seedEmployee() {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(suffix + "@example.com")
+                .phoneNumber(suffix)
+                .nationalId(suffix)
+                .accountStatus(EAccountStatus.ACTIVE)
+                .roles(Set.of(roleRepository.findRoleByName(ERole.ROLE_EMPLOYEE).orElseThrow()))
+                .build());
+        return employeeRepository.save(Employee.builder()
+                .code("EMP-" + suffix)
+                .user(user)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .status(EEmployeeStatus.ACTIVE)
+                .build());
+    }
+
+    private static String encode(String keys) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+}